@@ -0,0 +1,3 @@
+#!/bin/sh
+# Lets the postgres-replica service stream from this server (docker-compose --profile replica)
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -1,7 +1,7 @@
 import TaskColumn from './TaskColumn'
 import './TaskBoard.css'
 
-const TaskBoard = ({ tasks, onTaskUpdate, viewMode, onEditStart, onEditEnd }) => {
+const TaskBoard = ({ tasks, counts, paging, onLoadMore, onTaskUpdate, viewMode, onEditStart, onEditEnd }) => {
   const columns = [
     {
       status: 'TO_DO',
@@ -32,6 +32,10 @@ const TaskBoard = ({ tasks, onTaskUpdate, viewMode, onEditStart, onEditEnd }) =>
           label={column.label}
           color={column.color}
           tasks={column.tasks}
+          count={counts?.[column.status] ?? column.tasks.length}
+          hasMore={paging?.[column.status]?.hasMore}
+          loadingMore={paging?.[column.status]?.loading}
+          onLoadMore={() => onLoadMore(column.status)}
           onTaskUpdate={onTaskUpdate}
           onEditStart={onEditStart}
           onEditEnd={onEditEnd}
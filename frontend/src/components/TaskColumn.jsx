@@ -4,7 +4,7 @@ import TaskModal from './TaskModal'
 import { taskAPI } from '../services/api'
 import './TaskColumn.css'
 
-const TaskColumn = ({ status, label, color, tasks, onTaskUpdate, onEditStart, onEditEnd }) => {
+const TaskColumn = ({ status, label, color, tasks, count, hasMore, loadingMore, onLoadMore, onTaskUpdate, onEditStart, onEditEnd }) => {
   const [isModalOpen, setIsModalOpen] = useState(false)
   const [editingTask, setEditingTask] = useState(null)
 
@@ -81,7 +81,7 @@ const TaskColumn = ({ status, label, color, tasks, onTaskUpdate, onEditStart, on
           <div className="column-title">
             <span className="status-dot" style={{ backgroundColor: color }}></span>
             <span className="column-label">{label}</span>
-            <span className="task-count">({tasks.length})</span>
+            <span className="task-count">({count ?? tasks.length})</span>
           </div>
           <button className="add-task-btn" onClick={handleAddTask}>
             +
@@ -100,6 +100,11 @@ const TaskColumn = ({ status, label, color, tasks, onTaskUpdate, onEditStart, on
           {tasks.length === 0 && (
             <div className="empty-column">No tasks in this column</div>
           )}
+          {hasMore && (
+            <button className="load-more-btn" onClick={onLoadMore} disabled={loadingMore}>
+              {loadingMore ? 'Loading...' : `Show more (${tasks.length} of ${count})`}
+            </button>
+          )}
         </div>
       </div>
       {isModalOpen && (
@@ -6,8 +6,37 @@ import { taskAPI } from '../services/api'
 import { useWebSocket } from '../hooks/useWebSocket'
 import './Dashboard.css'
 
+const STATUSES = ['TO_DO', 'IN_PROGRESS', 'DONE']
+const NO_COUNTS = { TO_DO: 0, IN_PROGRESS: 0, DONE: 0 }
+
+// Keeps the column totals current, since the board only loads the newest tasks of each column
+const applyCountEvent = (event, counts) => {
+  const next = { ...counts }
+  switch (event.type) {
+    case 'CREATED':
+      if (event.task) next[event.task.status] += 1
+      break
+    case 'UPDATED':
+      if (event.task && event.previousStatus && event.previousStatus !== event.task.status) {
+        next[event.previousStatus] -= 1
+        next[event.task.status] += 1
+      }
+      break
+    case 'DELETED':
+      if (event.previousStatus) next[event.previousStatus] -= 1
+      break
+    default:
+      break
+  }
+  return next
+}
+
 const Dashboard = () => {
   const [tasks, setTasks] = useState([])
+  const [counts, setCounts] = useState(NO_COUNTS)
+  // Next page to load per column: the board holds page 0, sized like the server's board column size
+  const [columnPages, setColumnPages] = useState({})
+  const [loadingColumns, setLoadingColumns] = useState({})
   const [loading, setLoading] = useState(true)
   const [viewMode, setViewMode] = useState('grid')
   const [isMobileMenuOpen, setIsMobileMenuOpen] = useState(false)
@@ -21,8 +50,13 @@ const Dashboard = () => {
   const loadTasks = async () => {
     try {
       setLoading(true)
-      const data = await taskAPI.getAll()
-      setTasks(data)
+      const board = await taskAPI.getBoard()
+      setTasks(board.columns.flatMap((column) => column.tasks))
+      setCounts(Object.fromEntries(board.columns.map((column) => [column.status, column.count])))
+      setColumnPages(Object.fromEntries(board.columns.map((column) => [
+        column.status,
+        { page: 1, size: column.tasks.length, hasNext: column.tasks.length < column.count },
+      ])))
     } catch (error) {
       console.error('Failed to load tasks:', error)
     } finally {
@@ -34,6 +68,24 @@ const Dashboard = () => {
     loadTasks()
   }
 
+  const loadMoreTasks = async (status) => {
+    const { page, size } = columnPages[status]
+    try {
+      setLoadingColumns((prev) => ({ ...prev, [status]: true }))
+      const result = await taskAPI.getColumnPage(status, page, size)
+      // Tasks created since the board was loaded shift the pages, so some may already be shown
+      setTasks((currentTasks) => {
+        const shown = new Set(currentTasks.map((t) => t.id))
+        return [...currentTasks, ...result.tasks.filter((t) => !shown.has(t.id))]
+      })
+      setColumnPages((prev) => ({ ...prev, [status]: { page: page + 1, size, hasNext: result.hasNext } }))
+    } catch (error) {
+      console.error('Failed to load more tasks:', error)
+    } finally {
+      setLoadingColumns((prev) => ({ ...prev, [status]: false }))
+    }
+  }
+
   // Process a single WebSocket event
   const processTaskEvent = useCallback((event, currentTasks) => {
     const taskList = Array.isArray(currentTasks) ? currentTasks : []
@@ -47,8 +99,11 @@ const Dashboard = () => {
         return taskList
 
       case 'UPDATED':
-        // Update existing task
+        // Update existing task, or show it if it was beyond the loaded part of its old column
         if (event.task) {
+          if (!taskList.find((t) => t.id === event.task.id)) {
+            return event.previousStatus !== event.task.status ? [...taskList, event.task] : taskList
+          }
           return taskList.map((t) =>
             t.id === event.task.id ? event.task : t
           )
@@ -80,6 +135,7 @@ const Dashboard = () => {
     
     // Process event immediately
     setTasks((currentTasks) => processTaskEvent(event, currentTasks))
+    setCounts((currentCounts) => applyCountEvent(event, currentCounts))
   }, [isEditingTask, processTaskEvent])
 
   // Process queued events when editing ends
@@ -94,6 +150,7 @@ const Dashboard = () => {
         })
         return updatedTasks
       })
+      setCounts((currentCounts) => queuedEvents.reduce((next, event) => applyCountEvent(event, next), currentCounts))
       setQueuedEvents([]) // Clear the queue
     }
   }, [isEditingTask, queuedEvents, processTaskEvent])
@@ -107,6 +164,11 @@ const Dashboard = () => {
     DONE: tasks.filter((t) => t.status === 'DONE'),
   }
 
+  const columnPaging = Object.fromEntries(STATUSES.map((status) => [status, {
+    hasMore: Boolean(columnPages[status]?.hasNext && columnPages[status].size > 0),
+    loading: Boolean(loadingColumns[status]),
+  }]))
+
   return (
     <div className="dashboard">
       <Sidebar isMobileMenuOpen={isMobileMenuOpen} onClose={() => setIsMobileMenuOpen(false)} />
@@ -131,6 +193,9 @@ const Dashboard = () => {
             )}
             <TaskBoard
               tasks={tasksByStatus}
+              counts={counts}
+              paging={columnPaging}
+              onLoadMore={loadMoreTasks}
               onTaskUpdate={handleTaskUpdate}
               viewMode={viewMode}
               onEditStart={() => setIsEditingTask(true)}
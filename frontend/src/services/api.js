@@ -69,6 +69,19 @@ export const taskAPI = {
     }
     return []
   },
+  // Newest tasks of every column plus per-column counts: { columns: [{ status, count, tasks }] }
+  getBoard: async () => {
+    const response = await api.get('/api/board')
+    return response.data
+  },
+  // One page of a column, newest first, for columns longer than the board shows: { tasks, hasNext }
+  getColumnPage: async (status, page, size) => {
+    const response = await api.get('/api/tasks', {
+      params: { slice: true, status, page, size, sort: 'createdAt,desc' },
+    })
+    const tasks = response.data._embedded ? Object.values(response.data._embedded)[0] || [] : []
+    return { tasks, hasNext: Boolean(response.data._links?.next) }
+  },
   getById: async (id) => {
     const response = await api.get(`/api/tasks/${id}`)
     return response.data
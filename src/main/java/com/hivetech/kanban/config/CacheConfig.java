@@ -15,10 +15,11 @@ public class CacheConfig {
 
     public static final String TASKS_CACHE = "tasks";
     public static final String TASK_CACHE = "task";
+    public static final String TASK_STATS_CACHE = "taskStats";
 
     @Bean
     public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(TASKS_CACHE, TASK_CACHE);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(TASKS_CACHE, TASK_CACHE, TASK_STATS_CACHE);
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .expireAfterWrite(5, TimeUnit.MINUTES)
                 .maximumSize(1000)
@@ -0,0 +1,15 @@
+package com.hivetech.kanban.config;
+
+import com.hivetech.kanban.graphql.PersistedQueryDocumentProvider;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class GraphQLConfig {
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer documentCacheCustomizer(PersistedQueryDocumentProvider documentProvider) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentProvider));
+    }
+}
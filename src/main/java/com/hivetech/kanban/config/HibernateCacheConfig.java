@@ -0,0 +1,71 @@
+package com.hivetech.kanban.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for the Task and User entities and the username natural id, kept in
+ * Caffeine through JCache. Unlike the Spring caches in {@link CacheConfig}, which hold API responses,
+ * these hold entity state, so entity loads by id or username skip the database.
+ *
+ * Every region is created here with its own size and TTL; regions not configured fail at startup
+ * instead of being created unbounded.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String TASK_REGION = "entity.task";
+    public static final String USER_REGION = "entity.user";
+    public static final String USER_NATURAL_ID_REGION = "entity.user.username";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${hibernate-cache.task.max-size:10000}") long taskMaxSize,
+            @Value("${hibernate-cache.task.ttl-seconds:600}") long taskTtlSeconds,
+            @Value("${hibernate-cache.user.max-size:1000}") long userMaxSize,
+            @Value("${hibernate-cache.user.ttl-seconds:3600}") long userTtlSeconds) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // A manager of its own per application context, the provider's default one is shared JVM-wide
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("kanban-hibernate:" + UUID.randomUUID()), provider.getDefaultClassLoader());
+        cacheManager.createCache(TASK_REGION, region(taskMaxSize, Duration.ofSeconds(taskTtlSeconds)));
+        cacheManager.createCache(USER_REGION, region(userMaxSize, Duration.ofSeconds(userTtlSeconds)));
+        cacheManager.createCache(USER_NATURAL_ID_REGION, region(userMaxSize, Duration.ofSeconds(userTtlSeconds)));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Hit/miss counts per region, published by Spring Boot as hibernate.* Micrometer metrics
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        // Hibernate stores immutable cache entries, copying them on every access would only cost
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
@@ -0,0 +1,92 @@
+package com.hivetech.kanban.config;
+
+import com.hivetech.kanban.datasource.ReadYourWritesTracker;
+import com.hivetech.kanban.datasource.ReplicaPool;
+import com.hivetech.kanban.datasource.ReplicaReadCacheGuard;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to streaming replicas of the primary database.
+ *
+ * The application DataSource is a lazy proxy: the physical connection is only taken at the first
+ * statement, once the transaction's read-only flag is known. Read-only transactions then draw from the
+ * {@link ReplicaPool}, everything else (writes, Flyway, non-transactional access) from the primary.
+ * Work that must not see replica lag, such as loading the in-memory read models, runs in read-write
+ * transactions, and read-only transactions do not populate the second-level cache.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            ObjectProvider<DataSource> dataSource,
+            @Value("${datasource.replicas.read-your-writes-window-ms:5000}") long windowMs,
+            @Value("${datasource.replicas.read-your-writes-max-clients:100000}") long maxClients) {
+        return new ReadYourWritesTracker(dataSource::getObject, Duration.ofMillis(windowMs), maxClients);
+    }
+
+    @Bean
+    public ReplicaReadCacheGuard replicaReadCacheGuard(EntityManagerFactory entityManagerFactory) {
+        return new ReplicaReadCacheGuard(entityManagerFactory);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPool replicaPool(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            DataSourceProperties properties,
+            ReadYourWritesTracker readYourWritesTracker,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.replicas.urls}") List<String> urls,
+            @Value("${datasource.replicas.pool-size:10}") int poolSize,
+            @Value("${datasource.replicas.max-lag-ms:1000}") long maxLagMs) {
+        List<ReplicaPool.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(urls.get(i));
+            dataSource.setUsername(properties.determineUsername());
+            dataSource.setPassword(properties.determinePassword());
+            dataSource.setMaximumPoolSize(poolSize);
+            dataSource.setReadOnly(true);
+            // Unreachable replicas must not stall startup, the health check takes them in when they come up
+            dataSource.setInitializationFailTimeout(-1);
+            replicas.add(new ReplicaPool.Replica(dataSource.getPoolName(), dataSource));
+        }
+        return new ReplicaPool(primaryDataSource, replicas, readYourWritesTracker,
+                Duration.ofMillis(maxLagMs), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource, ReplicaPool replicaPool) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaPool);
+        return dataSource;
+    }
+}
@@ -1,9 +1,12 @@
 package com.hivetech.kanban.config;
 
+import com.hivetech.kanban.controller.TaskController;
+import com.hivetech.kanban.idempotency.IdempotencyFilter;
 import com.hivetech.kanban.security.JwtAuthenticationEntryPoint;
 import com.hivetech.kanban.security.JwtAuthenticationFilter;
 import com.hivetech.kanban.security.JwtTokenProvider;
 import com.hivetech.kanban.security.RateLimitingFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,6 +20,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -34,7 +38,10 @@ public class SecurityConfig {
     private final JwtTokenProvider jwtTokenProvider;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            JwtAuthenticationFilter jwtAuthenticationFilter,
+            IdempotencyFilter idempotencyFilter) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
@@ -43,6 +50,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (e.g. SSE stream completion) belong to an already authorized request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Public endpoints
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/swagger-ui.html").permitAll()
@@ -52,7 +61,7 @@ public class SecurityConfig {
                         .requestMatchers("/actuator/health/liveness", "/actuator/health/readiness").permitAll()
                         .requestMatchers("/ws/**").permitAll()
                         // GraphQL - public endpoint (can add authentication later)
-                        .requestMatchers("/graphql", "/graphql/**").permitAll()
+                        .requestMatchers("/graphql", "/graphql/**", "/graphql-ws").permitAll()
                         .requestMatchers("/graphiql", "/graphiql/**").permitAll()
                         // Protected endpoints
                         .requestMatchers("/api/**").authenticated()
@@ -61,6 +70,8 @@ public class SecurityConfig {
 
         http.addFilterBefore(new RateLimitingFilter(), UsernamePasswordAuthenticationFilter.class);
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        // After authorization, so that rejected requests never claim an idempotency key
+        http.addFilterAfter(idempotencyFilter, AuthorizationFilter.class);
 
         return http.build();
     }
@@ -70,8 +81,10 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOriginPatterns(List.of("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Last-Event-ID",
+                IdempotencyFilter.IDEMPOTENCY_KEY_HEADER));
+        configuration.setExposedHeaders(List.of("Authorization", TaskController.TOTAL_COUNT_APPROXIMATE_HEADER,
+                IdempotencyFilter.REPLAYED_HEADER));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
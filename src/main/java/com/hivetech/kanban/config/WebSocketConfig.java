@@ -1,15 +1,55 @@
 package com.hivetech.kanban.config;
 
+import com.hivetech.kanban.websocket.TaskEventConflationInterceptor;
+import com.hivetech.kanban.websocket.TaskEventFormatInterceptor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final MeterRegistry meterRegistry;
+    private final TaskEventFormatInterceptor formatInterceptor;
+    private final int sendTimeLimitMs;
+    private final int sendBufferSizeLimit;
+    private final int messageSizeLimit;
+    private final int outboundCorePoolSize;
+    private final int outboundMaxPoolSize;
+    private final int outboundQueueCapacity;
+
+    public WebSocketConfig(
+            MeterRegistry meterRegistry,
+            TaskEventFormatInterceptor formatInterceptor,
+            @Value("${websocket.send-time-limit-ms:10000}") int sendTimeLimitMs,
+            @Value("${websocket.send-buffer-size-limit:524288}") int sendBufferSizeLimit,
+            @Value("${websocket.message-size-limit:65536}") int messageSizeLimit,
+            @Value("${websocket.outbound.core-pool-size:4}") int outboundCorePoolSize,
+            @Value("${websocket.outbound.max-pool-size:16}") int outboundMaxPoolSize,
+            @Value("${websocket.outbound.queue-capacity:10000}") int outboundQueueCapacity) {
+        this.meterRegistry = meterRegistry;
+        this.formatInterceptor = formatInterceptor;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        this.messageSizeLimit = messageSizeLimit;
+        this.outboundCorePoolSize = outboundCorePoolSize;
+        this.outboundMaxPoolSize = outboundMaxPoolSize;
+        this.outboundQueueCapacity = outboundQueueCapacity;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable a simple in-memory message broker for subscriptions
@@ -24,10 +64,58 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
-        
-        // Also register without SockJS for pure WebSocket clients
+
+        // Also register without SockJS for pure WebSocket clients, which may opt into binary frames
         registry.addEndpoint("/ws")
-                .setAllowedOriginPatterns("*");
+                .setAllowedOriginPatterns("*")
+                .addInterceptors(formatInterceptor);
     }
-}
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(formatInterceptor);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Bound how long a single send may block and how much a slow session may buffer
+        // before it is closed, so one stalled tab cannot hold up the outbound threads
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        TaskEventConflationInterceptor conflationInterceptor = new TaskEventConflationInterceptor(meterRegistry);
+        registration.taskExecutor(clientOutboundExecutor(conflationInterceptor));
+        registration.interceptors(conflationInterceptor);
+    }
+
+    private ThreadPoolTaskExecutor clientOutboundExecutor(TaskEventConflationInterceptor conflationInterceptor) {
+        Counter droppedCounter = Counter.builder("websocket.outbound.dropped")
+                .description("Outbound STOMP frames dropped because the outbound queue was full")
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("ws-outbound-");
+        executor.setCorePoolSize(outboundCorePoolSize);
+        executor.setMaxPoolSize(outboundMaxPoolSize);
+        executor.setQueueCapacity(outboundQueueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            // The dropped frame was already recorded as the latest one for its task,
+            // it must not cause the frame queued before it to be skipped as well
+            if (task instanceof MessageHandlingRunnable sendTask) {
+                conflationInterceptor.discard(sendTask.getMessage());
+            }
+            droppedCounter.increment();
+            log.warn("Client outbound queue is full, dropping frame");
+        });
+
+        Gauge.builder("websocket.outbound.queue.size", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .description("Outbound STOMP frames waiting for a worker thread")
+                .register(meterRegistry);
+        return executor;
+    }
+}
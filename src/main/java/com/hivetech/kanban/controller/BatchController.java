@@ -0,0 +1,42 @@
+package com.hivetech.kanban.controller;
+
+import com.hivetech.kanban.dto.BatchRequest;
+import com.hivetech.kanban.dto.BatchResponse;
+import com.hivetech.kanban.dto.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/batch")
+@RequiredArgsConstructor
+@Tag(name = "Batch", description = "Composite requests against the task API")
+@SecurityRequirement(name = "bearerAuth")
+public class BatchController {
+
+    private final BatchRequestDispatcher dispatcher;
+
+    @PostMapping
+    @Operation(summary = "Execute a batch of task requests", description = "Run up to " + BatchRequest.MAX_REQUESTS
+            + " /api/tasks requests in one round trip. Consecutive GETs run in parallel, writes run in order. "
+            + "Responses are returned in request order, each with its own status; the batch counts as one request for rate limiting.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch executed, see the status of each response"),
+            @ApiResponse(responseCode = "400", description = "Invalid batch", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<BatchResponse> executeBatch(@Valid @RequestBody BatchRequest request) {
+        return ResponseEntity.ok(dispatcher.dispatch(request));
+    }
+}
@@ -0,0 +1,691 @@
+package com.hivetech.kanban.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hivetech.kanban.dto.BatchRequest;
+import com.hivetech.kanban.dto.BatchResponse;
+import com.hivetech.kanban.exception.BadRequestException;
+import com.hivetech.kanban.exception.GlobalExceptionHandler;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerAdapter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Executes the sub-requests of a POST /api/batch against {@link TaskController}.
+ *
+ * Each sub-request goes through the same handler mapping and handler adapter as a standalone request,
+ * so parameters (filters, paging, sort) and bodies are bound and validated exactly like the endpoint
+ * does, and failures are rendered by {@link GlobalExceptionHandler} with the status the endpoint would
+ * answer. The body of each response is the JSON the endpoint would have written.
+ *
+ * Sub-requests are dispatched in-process, so they do not pass through the servlet filter chain again:
+ * authentication and rate limiting apply once to the batch as a whole. Consecutive reads run in parallel
+ * on a small pool; a write waits for the reads before it and runs alone, so every sub-request sees the
+ * effects of the writes listed before it. Each write commits on its own, a batch is not a transaction.
+ */
+@Component
+@Slf4j
+public class BatchRequestDispatcher {
+
+    private static final Pattern TASKS_PATH = Pattern.compile("^/api/tasks(?:/(\\d+))?/?$");
+    private static final Set<String> COLLECTION_METHODS = Set.of("GET", "POST");
+    private static final Set<String> ITEM_METHODS = Set.of("GET", "PUT", "PATCH", "DELETE");
+
+    private final HandlerMapping handlerMapping;
+    private final HandlerAdapter handlerAdapter;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+
+    public BatchRequestDispatcher(
+            @Qualifier("requestMappingHandlerMapping") HandlerMapping handlerMapping,
+            @Qualifier("requestMappingHandlerAdapter") HandlerAdapter handlerAdapter,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            ObjectMapper objectMapper,
+            @Value("${batch.threads:4}") int threads) {
+        this.handlerMapping = handlerMapping;
+        this.handlerAdapter = handlerAdapter;
+        this.exceptionResolver = exceptionResolver;
+        this.objectMapper = objectMapper;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public BatchResponse dispatch(BatchRequest batch) {
+        List<BatchRequest.Operation> operations = batch.getRequests();
+        List<CompletableFuture<BatchResponse.Result>> results = new ArrayList<>(operations.size());
+        List<CompletableFuture<BatchResponse.Result>> pendingReads = new ArrayList<>();
+
+        for (BatchRequest.Operation operation : operations) {
+            if (isRead(operation)) {
+                CompletableFuture<BatchResponse.Result> read = CompletableFuture.supplyAsync(
+                        inRequestContext(() -> execute(operation)), executor);
+                pendingReads.add(read);
+                results.add(read);
+            } else {
+                CompletableFuture.allOf(pendingReads.toArray(CompletableFuture[]::new)).join();
+                pendingReads.clear();
+                results.add(CompletableFuture.completedFuture(execute(operation)));
+            }
+        }
+
+        return BatchResponse.builder()
+                .responses(results.stream().map(CompletableFuture::join).toList())
+                .build();
+    }
+
+    private static boolean isRead(BatchRequest.Operation operation) {
+        return "GET".equalsIgnoreCase(operation.getMethod());
+    }
+
+    // Sub-requests wrap the batch request, so pool threads get its attributes along with the caller's security context
+    private static <T> Supplier<T> inRequestContext(Supplier<T> task) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        return () -> {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                return task.get();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+                SecurityContextHolder.clearContext();
+            }
+        };
+    }
+
+    private BatchResponse.Result execute(BatchRequest.Operation operation) {
+        ServletRequestAttributes batchAttributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        SubRequest request = new SubRequest(batchAttributes.getRequest(), operation.getMethod().toUpperCase(),
+                UriComponentsBuilder.fromUriString(operation.getPath()).build(), body(operation));
+        SubResponse response = new SubResponse(batchAttributes.getResponse());
+
+        // Links are built from the current request, which is the sub-request while it runs
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            handle(request, response, operation);
+        } finally {
+            RequestContextHolder.setRequestAttributes(batchAttributes);
+        }
+
+        return BatchResponse.Result.builder()
+                .id(operation.getId())
+                .status(response.getStatus())
+                .body(response.body(objectMapper))
+                .build();
+    }
+
+    // The part of DispatcherServlet.doDispatch that applies to a synchronous JSON request
+    private void handle(SubRequest request, SubResponse response, BatchRequest.Operation operation) {
+        HandlerExecutionChain chain = null;
+        int preHandled = 0;
+        Exception failure = null;
+        try {
+            checkSupported(request, operation);
+            ServletRequestPathUtils.parseAndCache(request);
+            chain = handlerMapping.getHandler(request);
+            if (chain == null) {
+                throw unsupported(operation);
+            }
+
+            for (HandlerInterceptor interceptor : chain.getInterceptorList()) {
+                if (!interceptor.preHandle(request, response, chain.getHandler())) {
+                    return;
+                }
+                preHandled++;
+            }
+            ModelAndView modelAndView = handlerAdapter.handle(request, response, chain.getHandler());
+            List<HandlerInterceptor> interceptors = chain.getInterceptorList();
+            for (int i = interceptors.size() - 1; i >= 0; i--) {
+                interceptors.get(i).postHandle(request, response, chain.getHandler(), modelAndView);
+            }
+        } catch (Exception e) {
+            failure = e;
+            resolve(request, response, chain, e);
+        } finally {
+            if (chain != null) {
+                triggerAfterCompletion(chain, preHandled, request, response, failure);
+            }
+        }
+    }
+
+    private void resolve(SubRequest request, SubResponse response, HandlerExecutionChain chain, Exception exception) {
+        response.resetBuffer();
+        Object handler = chain != null ? chain.getHandler() : null;
+        if (exceptionResolver.resolveException(request, response, handler, exception) == null) {
+            throw new IllegalStateException("No exception handler for " + exception.getClass().getName(), exception);
+        }
+    }
+
+    private static void triggerAfterCompletion(HandlerExecutionChain chain, int preHandled,
+                                               SubRequest request, SubResponse response, Exception failure) {
+        List<HandlerInterceptor> interceptors = chain.getInterceptorList();
+        for (int i = preHandled - 1; i >= 0; i--) {
+            try {
+                interceptors.get(i).afterCompletion(request, response, chain.getHandler(), failure);
+            } catch (Exception e) {
+                log.error("HandlerInterceptor.afterCompletion threw exception", e);
+            }
+        }
+    }
+
+    // Only the task CRUD and listing endpoints are batchable
+    private static void checkSupported(SubRequest request, BatchRequest.Operation operation) {
+        Matcher matcher = TASKS_PATH.matcher(request.getServletPath());
+        if (!matcher.matches()) {
+            throw new BadRequestException("Unsupported batch path: " + operation.getPath());
+        }
+        Set<String> methods = matcher.group(1) != null ? ITEM_METHODS : COLLECTION_METHODS;
+        if (!methods.contains(request.getMethod())) {
+            throw unsupported(operation);
+        }
+    }
+
+    private byte[] body(BatchRequest.Operation operation) {
+        if (operation.getBody() == null || operation.getBody().isNull()) {
+            return new byte[0];
+        }
+        try {
+            return objectMapper.writeValueAsBytes(operation.getBody());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the body of a batch request", e);
+        }
+    }
+
+    private static BadRequestException unsupported(BatchRequest.Operation operation) {
+        return new BadRequestException("Unsupported batch request: " + operation.getMethod() + " " + operation.getPath());
+    }
+
+    /**
+     * One sub-request, seen by the handler as a request of its own: method, path, query parameters and
+     * JSON body come from the operation, everything else (principal, host, locale, headers) from the batch
+     * request. Attributes are kept per sub-request, since parallel reads share the batch request.
+     */
+    private static final class SubRequest extends HttpServletRequestWrapper {
+
+        private static final Set<String> OWN_HEADERS = Set.of(
+                HttpHeaders.CONTENT_TYPE.toLowerCase(), HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.ACCEPT.toLowerCase());
+
+        private final String method;
+        private final String path;
+        private final String requestUri;
+        private final String queryString;
+        private final Map<String, String[]> parameters;
+        private final byte[] body;
+        private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+        SubRequest(HttpServletRequest batchRequest, String method, UriComponents uri, byte[] body) {
+            super(batchRequest);
+            String rawPath = uri.getPath() != null ? uri.getPath() : "";
+            this.method = method;
+            this.path = UriUtils.decode(rawPath, StandardCharsets.UTF_8);
+            this.requestUri = batchRequest.getContextPath() + rawPath;
+            this.queryString = uri.getQuery();
+            this.parameters = decode(uri.getQueryParams());
+            this.body = body;
+        }
+
+        private static Map<String, String[]> decode(MultiValueMap<String, String> query) {
+            Map<String, String[]> parameters = new LinkedHashMap<>();
+            query.forEach((name, values) -> parameters.put(UriUtils.decode(name, StandardCharsets.UTF_8), values.stream()
+                    .map(value -> value != null ? UriUtils.decode(value, StandardCharsets.UTF_8) : "")
+                    .toArray(String[]::new)));
+            return Collections.unmodifiableMap(parameters);
+        }
+
+        @Override
+        public String getMethod() {
+            return method;
+        }
+
+        @Override
+        public String getRequestURI() {
+            return requestUri;
+        }
+
+        @Override
+        public StringBuffer getRequestURL() {
+            return new StringBuffer(UriComponentsBuilder.fromUriString(super.getRequestURL().toString())
+                    .replacePath(requestUri)
+                    .build()
+                    .toUriString());
+        }
+
+        @Override
+        public String getServletPath() {
+            return path;
+        }
+
+        @Override
+        public String getPathInfo() {
+            return null;
+        }
+
+        @Override
+        public String getQueryString() {
+            return queryString;
+        }
+
+        @Override
+        public String getParameter(String name) {
+            String[] values = parameters.get(name);
+            return values != null && values.length > 0 ? values[0] : null;
+        }
+
+        @Override
+        public Map<String, String[]> getParameterMap() {
+            return parameters;
+        }
+
+        @Override
+        public Enumeration<String> getParameterNames() {
+            return Collections.enumeration(parameters.keySet());
+        }
+
+        @Override
+        public String[] getParameterValues(String name) {
+            return parameters.get(name);
+        }
+
+        @Override
+        public String getContentType() {
+            return body.length > 0 ? MediaType.APPLICATION_JSON_VALUE : null;
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return StandardCharsets.UTF_8.name();
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return switch (name.toLowerCase()) {
+                case "content-type" -> getContentType();
+                case "content-length" -> body.length > 0 ? String.valueOf(body.length) : null;
+                case "accept" -> MediaType.APPLICATION_JSON_VALUE;
+                default -> super.getHeader(name);
+            };
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (!OWN_HEADERS.contains(name.toLowerCase())) {
+                return super.getHeaders(name);
+            }
+            String value = getHeader(name);
+            return Collections.enumeration(value != null ? List.of(value) : List.of());
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = new ArrayList<>();
+            Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !OWN_HEADERS.contains(name.toLowerCase()))
+                    .forEach(names::add);
+            names.add(HttpHeaders.ACCEPT);
+            if (body.length > 0) {
+                names.add(HttpHeaders.CONTENT_TYPE);
+                names.add(HttpHeaders.CONTENT_LENGTH);
+            }
+            return Collections.enumeration(names);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public Enumeration<String> getAttributeNames() {
+            return Collections.enumeration(attributes.keySet());
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            if (value == null) {
+                attributes.remove(name);
+            } else {
+                attributes.put(name, value);
+            }
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            attributes.remove(name);
+        }
+
+        @Override
+        public DispatcherType getDispatcherType() {
+            return DispatcherType.REQUEST;
+        }
+
+        @Override
+        public boolean isAsyncSupported() {
+            return false;
+        }
+    }
+
+    /**
+     * Captures status, headers and body of a sub-request in memory instead of writing them to the batch response.
+     */
+    private static final class SubResponse extends HttpServletResponseWrapper {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        private int status = HttpServletResponse.SC_OK;
+        private PrintWriter writer;
+
+        SubResponse(HttpServletResponse batchResponse) {
+            super(batchResponse);
+        }
+
+        Object body(ObjectMapper objectMapper) {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (content.size() == 0) {
+                return null;
+            }
+            String contentType = getContentType();
+            MediaType mediaType = contentType != null ? MediaType.parseMediaType(contentType) : null;
+            if (mediaType != null && ("json".equals(mediaType.getSubtype()) || "json".equals(mediaType.getSubtypeSuffix()))) {
+                try {
+                    return objectMapper.readTree(content.toByteArray());
+                } catch (IOException e) {
+                    log.warn("Batch sub-request returned malformed JSON", e);
+                }
+            }
+            return content.toString(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        @Override
+        public int getStatus() {
+            return status;
+        }
+
+        @Override
+        public void sendError(int status) {
+            this.status = status;
+        }
+
+        @Override
+        public void sendError(int status, String message) {
+            this.status = status;
+        }
+
+        @Override
+        public void sendRedirect(String location) {
+            this.status = HttpServletResponse.SC_FOUND;
+            headers.set(HttpHeaders.LOCATION, location);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            headers.set(name, value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            headers.add(name, value);
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            headers.set(name, String.valueOf(value));
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            headers.add(name, String.valueOf(value));
+        }
+
+        @Override
+        public void setDateHeader(String name, long date) {
+            headers.setDate(name, date);
+        }
+
+        @Override
+        public void addDateHeader(String name, long date) {
+            HttpHeaders formatted = new HttpHeaders();
+            formatted.setDate(name, date);
+            headers.addAll(name, formatted.get(name));
+        }
+
+        @Override
+        public boolean containsHeader(String name) {
+            return headers.containsKey(name);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return headers.getFirst(name);
+        }
+
+        @Override
+        public Collection<String> getHeaders(String name) {
+            List<String> values = headers.get(name);
+            return values != null ? values : List.of();
+        }
+
+        @Override
+        public Collection<String> getHeaderNames() {
+            return headers.keySet();
+        }
+
+        @Override
+        public void setContentType(String contentType) {
+            if (contentType != null) {
+                headers.set(HttpHeaders.CONTENT_TYPE, contentType);
+            }
+        }
+
+        @Override
+        public String getContentType() {
+            return headers.getFirst(HttpHeaders.CONTENT_TYPE);
+        }
+
+        @Override
+        public void setCharacterEncoding(String charset) {
+            // Bodies are always read back as UTF-8 JSON
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return StandardCharsets.UTF_8.name();
+        }
+
+        @Override
+        public void setContentLength(int length) {
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+        }
+
+        @Override
+        public void addCookie(Cookie cookie) {
+            // Cookies of a sub-request are not passed on
+        }
+
+        @Override
+        public void setLocale(Locale locale) {
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void write(int b) {
+                    content.write(b);
+                }
+
+                @Override
+                public void write(byte[] buffer, int offset, int length) {
+                    content.write(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(content, StandardCharsets.UTF_8));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return false;
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (writer != null) {
+                writer.flush();
+            }
+            content.reset();
+        }
+
+        @Override
+        public void reset() {
+            resetBuffer();
+            headers.clear();
+            status = HttpServletResponse.SC_OK;
+        }
+    }
+}
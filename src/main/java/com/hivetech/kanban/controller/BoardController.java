@@ -0,0 +1,38 @@
+package com.hivetech.kanban.controller;
+
+import com.hivetech.kanban.dto.BoardResponse;
+import com.hivetech.kanban.dto.ErrorResponse;
+import com.hivetech.kanban.service.BoardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/board")
+@RequiredArgsConstructor
+@Tag(name = "Board", description = "Board view of all status columns")
+@SecurityRequirement(name = "bearerAuth")
+public class BoardController {
+
+    private final BoardService boardService;
+
+    @GetMapping
+    @Operation(summary = "Get the board", description = "Retrieve the newest tasks of every status column, "
+            + "newest first, together with the total number of tasks per column")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the board"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<BoardResponse> getBoard() {
+        return ResponseEntity.ok(boardService.getBoard());
+    }
+}
@@ -1,8 +1,15 @@
 package com.hivetech.kanban.controller;
 
 import com.hivetech.kanban.dto.*;
+import com.hivetech.kanban.enums.Priority;
 import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.enums.TaskSortKey;
+import com.hivetech.kanban.exception.BadRequestException;
+import com.hivetech.kanban.readmodel.TaskTitleIndex;
+import com.hivetech.kanban.service.TaskSearchService;
 import com.hivetech.kanban.service.TaskService;
+import com.hivetech.kanban.service.TaskStatsService;
+import com.hivetech.kanban.sse.TaskEventStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,16 +20,31 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.SlicedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
@@ -33,19 +55,35 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 @SecurityRequirement(name = "bearerAuth")
 public class TaskController {
 
+    /** Response header telling whether page.totalElements of a task listing is an estimate. */
+    public static final String TOTAL_COUNT_APPROXIMATE_HEADER = "X-Total-Count-Approximate";
+
     private final TaskService taskService;
+    private final TaskEventStreamService eventStreamService;
+    private final TaskStatsService statsService;
+    private final TaskSearchService searchService;
+    private final TaskTitleIndex titleIndex;
 
     @GetMapping
-    @Operation(summary = "Get all tasks", description = "Retrieve a paginated list of tasks with optional status filtering")
+    @Operation(summary = "Get all tasks", description = "Retrieve a paginated list of tasks, optionally filtered by statuses, "
+            + "priorities, created and updated date ranges (from inclusive, to exclusive) and title text. All filters combine with AND. "
+            + "Sortable by createdAt, updatedAt, priority or title, with id as tiebreaker.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or unsupported sort", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<PagedModel<EntityModel<TaskResponse>>> getAllTasks(
-            @Parameter(description = "Filter by status") @RequestParam(required = false) Status status,
+            @ParameterObject @Valid TaskFilter filter,
+            @Parameter(description = "false allows an estimated total for large unfiltered listings, flagged by the "
+                    + TOTAL_COUNT_APPROXIMATE_HEADER + " header") @RequestParam(defaultValue = "true") boolean exactCount,
             @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
         
-        Page<TaskResponse> tasks = taskService.getAllTasks(status, pageable);
+        Pageable sorted = withSupportedSort(pageable);
+        Optional<Page<TaskResponse>> estimated = exactCount || !filter.isEmpty()
+                ? Optional.empty()
+                : taskService.getAllTasksWithEstimatedCount(sorted);
+        Page<TaskResponse> tasks = estimated.orElseGet(() -> taskService.getFilteredTasks(filter, sorted));
         
         PagedModel<EntityModel<TaskResponse>> pagedModel = PagedModel.of(
                 tasks.getContent().stream()
@@ -59,7 +97,135 @@ public class TaskController {
                 )
         );
         
-        return ResponseEntity.ok(pagedModel);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_APPROXIMATE_HEADER, String.valueOf(estimated.isPresent()))
+                .body(pagedModel);
+    }
+
+    @GetMapping(params = "slice=true")
+    @Operation(summary = "Get a slice of tasks", description = "Same as the task list, with the same filters, but without counting all matching tasks: "
+            + "page metadata has no totals and prev/next links tell whether more pages exist. Totals are available from /api/tasks/stats.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or unsupported sort", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<SlicedModel<EntityModel<TaskResponse>>> getTaskSlice(
+            @ParameterObject @Valid TaskFilter filter,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+
+        Slice<TaskResponse> tasks = taskService.getTaskSlice(filter, withSupportedSort(pageable));
+
+        SlicedModel<EntityModel<TaskResponse>> slicedModel = SlicedModel.of(
+                tasks.getContent().stream()
+                        .map(task -> EntityModel.of(task, createTaskLink(task.getId())))
+                        .toList(),
+                new SlicedModel.SliceMetadata(tasks.getSize(), tasks.getNumber())
+        );
+        if (tasks.hasPrevious()) {
+            slicedModel.add(createSliceLink(filter, tasks.previousPageable(), IanaLinkRelations.PREV));
+        }
+        if (tasks.hasNext()) {
+            slicedModel.add(createSliceLink(filter, tasks.nextPageable(), IanaLinkRelations.NEXT));
+        }
+
+        return ResponseEntity.ok(slicedModel);
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get tasks by IDs", description = "Retrieve up to " + TaskService.MAX_BATCH_SIZE
+            + " tasks by ID in one request. Tasks are returned in request order, unknown IDs are listed in missingIds.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks"),
+            @ApiResponse(responseCode = "400", description = "Too many IDs", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<TaskMultiGetResponse> getTasksByIds(
+            @Parameter(description = "Comma-separated task IDs") @RequestParam List<Long> ids) {
+
+        // Duplicates are answered once, in the position of their first occurrence
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.size() > TaskService.MAX_BATCH_SIZE) {
+            throw new BadRequestException("At most " + TaskService.MAX_BATCH_SIZE + " ids can be requested at once");
+        }
+
+        Map<Long, TaskResponse> found = taskService.getTasksByIds(uniqueIds);
+        List<TaskResponse> tasks = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            TaskResponse task = found.get(id);
+            if (task != null) {
+                tasks.add(task);
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        return ResponseEntity.ok(TaskMultiGetResponse.builder()
+                .tasks(tasks)
+                .missingIds(missingIds)
+                .build());
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get task statistics", description = "Task counts in total, by status, by priority and by status and priority")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<TaskStatsResponse> getStats() {
+        return ResponseEntity.ok(statsService.getStats());
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search tasks", description = "Full-text search over titles and descriptions, best match first, "
+            + "with highlighted matches. Supports quoted phrases, -exclusions and or. Pass nextCursor as after for the next page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully searched tasks"),
+            @ApiResponse(responseCode = "400", description = "Invalid query, size or cursor", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<TaskSearchResponse> searchTasks(
+            @Parameter(description = "Search terms") @RequestParam("q") String query,
+            @Parameter(description = "Filter by status") @RequestParam(required = false) Status status,
+            @Parameter(description = "Filter by priority") @RequestParam(required = false) Priority priority,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size, at most " + TaskSearchService.MAX_PAGE_SIZE) @RequestParam(defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(searchService.search(query, status, priority, after, size));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest tasks by title", description = "Typeahead over task titles from an in-memory index: "
+            + "titles containing the text, or with a word starting with it for one or two characters. "
+            + "Title prefix matches come first, then higher priority and newer tasks.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved suggestions"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<List<TaskSuggestion>> suggestTasks(
+            @Parameter(description = "Text typed so far") @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions, at most " + TaskTitleIndex.MAX_LIMIT) @RequestParam(defaultValue = "10") int limit) {
+
+        if (limit < 1 || limit > TaskTitleIndex.MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + TaskTitleIndex.MAX_LIMIT);
+        }
+        return ResponseEntity.ok(titleIndex.suggest(prefix, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream task changes", description = "Server-Sent Events feed of task changes with optional status filtering. "
+            + "Send Last-Event-ID to resume after a reconnect; a \"reset\" event asks the client to reload the tasks instead.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public SseEmitter streamTasks(
+            @Parameter(description = "Only stream changes of tasks in these statuses") @RequestParam(required = false) Set<Status> status,
+            @Parameter(description = "Id (publish sequence) of the last event received, to resume from") @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        return eventStreamService.subscribe(status, lastEventId);
     }
 
     @GetMapping("/{id}")
@@ -79,11 +245,13 @@ public class TaskController {
     }
 
     @PostMapping
-    @Operation(summary = "Create a new task", description = "Create a new task with the provided details")
+    @Operation(summary = "Create a new task", description = "Create a new task with the provided details. "
+            + "The id may be assigned by the client as a TSID with node id 15, otherwise the server generates it")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Task created successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "A task with the assigned id already exists", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<EntityModel<TaskResponse>> createTask(
             @Valid @RequestBody TaskRequest request) {
@@ -148,5 +316,31 @@ public class TaskController {
     private org.springframework.hateoas.Link createTaskLink(Long taskId) {
         return linkTo(methodOn(TaskController.class).getTaskById(taskId)).withSelfRel();
     }
+
+    // Only indexed sort orders reach the database, see TaskSortKey
+    private static Pageable withSupportedSort(Pageable pageable) {
+        Sort sort = TaskSortKey.resolve(pageable.getSort());
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort) : Pageable.unpaged(sort);
+    }
+
+    private org.springframework.hateoas.Link createSliceLink(TaskFilter filter, Pageable pageable, LinkRelation relation) {
+        UriComponentsBuilder uri = linkTo(TaskController.class).toUriComponentsBuilder()
+                .queryParam("slice", true)
+                .queryParamIfPresent("createdFrom", Optional.ofNullable(filter.getCreatedFrom()))
+                .queryParamIfPresent("createdTo", Optional.ofNullable(filter.getCreatedTo()))
+                .queryParamIfPresent("updatedFrom", Optional.ofNullable(filter.getUpdatedFrom()))
+                .queryParamIfPresent("updatedTo", Optional.ofNullable(filter.getUpdatedTo()))
+                .queryParamIfPresent("title", Optional.ofNullable(filter.getTitle()))
+                .queryParam("page", pageable.getPageNumber())
+                .queryParam("size", pageable.getPageSize());
+        if (filter.getStatus() != null) {
+            filter.getStatus().forEach(status -> uri.queryParam("status", status));
+        }
+        if (filter.getPriority() != null) {
+            filter.getPriority().forEach(priority -> uri.queryParam("priority", priority));
+        }
+        pageable.getSort().forEach(order -> uri.queryParam("sort", order.getProperty() + "," + order.getDirection().name().toLowerCase()));
+        return org.springframework.hateoas.Link.of(uri.toUriString(), relation);
+    }
 }
 
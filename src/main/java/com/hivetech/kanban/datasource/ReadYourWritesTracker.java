@@ -0,0 +1,135 @@
+package com.hivetech.kanban.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which clients have just written, so their following reads see their own writes.
+ *
+ * After a read-write transaction commits, the client (the authenticated user, otherwise the caller's
+ * address) is pinned to the primary's WAL position of that moment. Until the window expires, its
+ * read-only transactions only go to replicas that have replayed up to that position.
+ *
+ * The position is read on the connection the transaction committed on, which it still holds at that
+ * point. Borrowing another primary connection instead would stall every write while the pool is exhausted.
+ */
+@Slf4j
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    static final String CURRENT_LSN_SQL = "SELECT CAST(pg_current_wal_lsn() AS TEXT)";
+
+    // The DataSource transactions bind their connection to, resolved late as it is built on this tracker
+    private final Supplier<DataSource> transactionDataSource;
+    private final Cache<String, Long> pinnedClients;
+    private volatile JdbcTemplate jdbcTemplate;
+
+    public ReadYourWritesTracker(Supplier<DataSource> transactionDataSource, Duration window, long maxClients) {
+        this.transactionDataSource = transactionDataSource;
+        this.pinnedClients = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxClients)
+                .build();
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null || transaction.isReadOnly()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String client = currentClient();
+        if (client != null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(client, committedLsn());
+                }
+            });
+        }
+    }
+
+    /**
+     * The WAL position replicas must have replayed to serve the current client, or empty if it is not pinned.
+     */
+    public OptionalLong requiredLsn() {
+        String client = currentClient();
+        Long lsn = client != null ? pinnedClients.getIfPresent(client) : null;
+        return lsn != null ? OptionalLong.of(lsn) : OptionalLong.empty();
+    }
+
+    void record(String client, long lsn) {
+        pinnedClients.asMap().merge(client, lsn, Math::max);
+    }
+
+    private long committedLsn() {
+        DataSource dataSource = transactionDataSource.get();
+        if (!TransactionSynchronizationManager.hasResource(dataSource)) {
+            // No connection of the transaction to ask, the client stays on the primary for the whole window
+            return Long.MAX_VALUE;
+        }
+        try {
+            return parseLsn(jdbcTemplate(dataSource).queryForObject(CURRENT_LSN_SQL, String.class));
+        } catch (DataAccessException | IllegalArgumentException e) {
+            // Without a position the client stays on the primary for the whole window
+            log.debug("Could not read the primary WAL position: {}", e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        JdbcTemplate template = jdbcTemplate;
+        if (template == null) {
+            template = new JdbcTemplate(dataSource);
+            jdbcTemplate = template;
+        }
+        return template;
+    }
+
+    /**
+     * Parses a Postgres pg_lsn text value ("16/B374D848") into a comparable number.
+     */
+    static long parseLsn(String lsn) {
+        int separator = lsn != null ? lsn.indexOf('/') : -1;
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid LSN: " + lsn);
+        }
+        return (Long.parseLong(lsn.substring(0, separator), 16) << 32)
+                | Long.parseLong(lsn.substring(separator + 1), 16);
+    }
+
+    private static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isEmpty()) {
+                return "ip:" + forwardedFor.split(",")[0].trim();
+            }
+            return "ip:" + request.getRemoteAddr();
+        }
+        // Background work (event relay, scheduled jobs) has no client to pin
+        return null;
+    }
+}
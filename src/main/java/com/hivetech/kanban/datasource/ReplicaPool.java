@@ -0,0 +1,173 @@
+package com.hivetech.kanban.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only connections spread round-robin over the healthy replicas.
+ *
+ * Replicas are checked on a schedule: a replica only takes reads while it is in recovery (streaming
+ * from the primary) and its replay lag is within the limit. Clients pinned by the
+ * {@link ReadYourWritesTracker} only go to replicas that have replayed their last write. Whenever no
+ * replica qualifies, or one fails to hand out a connection, the read goes to the primary.
+ */
+@Slf4j
+public class ReplicaPool extends AbstractDataSource implements Closeable {
+
+    // Lag counts as zero while everything received has been replayed, an idle primary is not lag
+    static final String STATUS_SQL = """
+            SELECT pg_is_in_recovery() AS in_recovery,
+                   CAST(pg_last_wal_replay_lsn() AS TEXT) AS replay_lsn,
+                   CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END AS lag_seconds
+            """;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    public ReplicaPool(DataSource primary, List<Replica> replicas, ReadYourWritesTracker readYourWrites,
+                       Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWrites = readYourWrites;
+        this.maxLag = maxLag;
+        this.replicaReads = meterRegistry.counter("datasource.reads", "target", "replica");
+        this.primaryReads = meterRegistry.counter("datasource.reads", "target", "primary");
+        for (Replica replica : this.replicas) {
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = select(readYourWrites.requiredLsn());
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                log.warn("Replica {} refused a connection, reading from the primary", replica.name, e);
+                replica.healthy = false;
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Replica connections use the configured credentials");
+    }
+
+    Replica select(OptionalLong requiredLsn) {
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy && (requiredLsn.isEmpty() || replica.replayLsn >= requiredLsn.getAsLong())) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try {
+                replica.update(replica.jdbcTemplate.queryForObject(STATUS_SQL, (rs, rowNum) -> new ReplicaStatus(
+                        rs.getBoolean("in_recovery"),
+                        rs.getString("replay_lsn"),
+                        rs.getDouble("lag_seconds"))), maxLag);
+            } catch (DataAccessException e) {
+                if (replica.healthy) {
+                    log.warn("Replica {} is unreachable, its reads go to the primary: {}", replica.name, e.getMessage());
+                }
+                replica.healthy = false;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    record ReplicaStatus(boolean inRecovery, String replayLsn, double lagSeconds) {}
+
+    public static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+
+        private volatile boolean healthy;
+        private volatile long replayLsn;
+        private volatile double lagSeconds;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+        }
+
+        void update(ReplicaStatus status, Duration maxLag) {
+            boolean wasHealthy = healthy;
+            lagSeconds = status.lagSeconds();
+            if (!status.inRecovery() || status.replayLsn() == null) {
+                // A promoted or standalone server no longer follows the primary
+                healthy = false;
+                if (wasHealthy) {
+                    log.warn("Replica {} is not in recovery, its reads go to the primary", name);
+                }
+                return;
+            }
+
+            replayLsn = ReadYourWritesTracker.parseLsn(status.replayLsn());
+            healthy = status.lagSeconds() * 1000 <= maxLag.toMillis();
+            if (wasHealthy != healthy) {
+                log.info("Replica {} is {} (lag {} s)", name, healthy ? "serving reads" : "lagging behind", lagSeconds);
+            }
+        }
+
+        boolean isHealthy() {
+            return healthy;
+        }
+
+        String getName() {
+            return name;
+        }
+    }
+}
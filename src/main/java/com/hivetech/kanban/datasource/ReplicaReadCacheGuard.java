@@ -0,0 +1,36 @@
+package com.hivetech.kanban.datasource;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps replica reads out of the Hibernate second-level cache.
+ *
+ * Read-only transactions may read from a replica that has not replayed the latest writes yet. Right
+ * after a write evicted an entity, such a read would put the old state back into the cache, where
+ * every node would then serve it until the TTL expires. Read-only transactions therefore still get
+ * entities from the cache, but only read-write transactions, which run on the primary, put them in.
+ */
+public class ReplicaReadCacheGuard implements TransactionExecutionListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ReplicaReadCacheGuard(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null || !transaction.isReadOnly()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.getResource(entityManagerFactory) instanceof EntityManagerHolder holder) {
+            holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.hivetech.kanban.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchRequest {
+
+    public static final int MAX_REQUESTS = 20;
+
+    @NotEmpty(message = "At least one request is required")
+    @Size(max = MAX_REQUESTS, message = "At most " + MAX_REQUESTS + " requests are allowed per batch")
+    @Valid
+    private List<Operation> requests;
+
+    /**
+     * One sub-request, e.g. {"method": "GET", "path": "/api/tasks?status=TO_DO&size=50"}.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Operation {
+
+        // Optional, echoed back so clients can match responses
+        private String id;
+
+        @NotBlank(message = "Method is required")
+        @Pattern(regexp = "GET|POST|PUT|PATCH|DELETE", message = "Method must be one of: GET, POST, PUT, PATCH, DELETE")
+        private String method;
+
+        @NotBlank(message = "Path is required")
+        private String path;
+
+        private JsonNode body;
+    }
+}
@@ -0,0 +1,34 @@
+package com.hivetech.kanban.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Responses of a batch, in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchResponse {
+
+    private List<Result> responses;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Result {
+
+        private String id;
+        private int status;
+        // The JSON body the standalone endpoint would have returned, HAL included
+        private Object body;
+    }
+}
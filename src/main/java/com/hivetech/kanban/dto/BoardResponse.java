@@ -0,0 +1,30 @@
+package com.hivetech.kanban.dto;
+
+import com.hivetech.kanban.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardResponse {
+
+    private List<Column> columns;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Column {
+
+        private Status status;
+        // Total tasks in the column, the list only holds the newest ones
+        private long count;
+        private List<TaskResponse> tasks;
+    }
+}
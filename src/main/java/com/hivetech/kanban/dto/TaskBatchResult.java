@@ -0,0 +1,31 @@
+package com.hivetech.kanban.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch operation, in the position of the item in the request.
+ * Either task (id only for deletions) or error and message are set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBatchResult {
+
+    public enum ErrorCode {
+        VALIDATION_FAILED,
+        NOT_FOUND,
+        VERSION_CONFLICT,
+        ALREADY_EXISTS
+    }
+
+    private Long id;
+    private TaskResponse task;
+    private ErrorCode error;
+    private String message;
+}
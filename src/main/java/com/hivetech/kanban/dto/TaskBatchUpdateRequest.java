@@ -0,0 +1,20 @@
+package com.hivetech.kanban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One item of a batch update: the task id and its full update.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBatchUpdateRequest {
+
+    private Long id;
+
+    private TaskUpdateRequest task;
+}
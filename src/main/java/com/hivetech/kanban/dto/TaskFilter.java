@@ -0,0 +1,77 @@
+package com.hivetech.kanban.dto;
+
+import com.hivetech.kanban.enums.Priority;
+import com.hivetech.kanban.enums.Status;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Criteria of the task list, all combined with AND. Values within status and priority are
+ * alternatives; date ranges include their start and exclude their end.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskFilter {
+
+    private Set<Status> status;
+    private Set<Priority> priority;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+
+    // Case-insensitive; shorter fragments cannot use the trigram index on title
+    @Size(min = 3, max = 255, message = "Title filter must be between 3 and 255 characters")
+    private String title;
+
+    public static TaskFilter ofStatus(Status status) {
+        return TaskFilter.builder().status(status != null ? Set.of(status) : null).build();
+    }
+
+    /**
+     * Whether this filters on one status at most and nothing else, as the plain status listing does.
+     */
+    public boolean isStatusOnly() {
+        return (status == null || status.size() <= 1) && (priority == null || priority.isEmpty())
+                && createdFrom == null && createdTo == null && updatedFrom == null && updatedTo == null
+                && title == null;
+    }
+
+    public boolean isEmpty() {
+        return isStatusOnly() && (status == null || status.isEmpty());
+    }
+
+    /**
+     * The only status of a status-only filter, null for none.
+     */
+    public Status singleStatus() {
+        return status == null || status.isEmpty() ? null : status.iterator().next();
+    }
+
+    /**
+     * Stable across equal filters, whatever order the values were given in.
+     */
+    public String cacheKey() {
+        return String.join("|",
+                status == null || status.isEmpty() ? "" : EnumSet.copyOf(status).toString(),
+                priority == null || priority.isEmpty() ? "" : EnumSet.copyOf(priority).toString(),
+                String.valueOf(createdFrom), String.valueOf(createdTo),
+                String.valueOf(updatedFrom), String.valueOf(updatedTo),
+                String.valueOf(title));
+    }
+}
@@ -0,0 +1,21 @@
+package com.hivetech.kanban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of looking up several tasks by id: found tasks in request order, plus the ids that do not exist.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskMultiGetResponse {
+
+    private List<TaskResponse> tasks;
+    private List<Long> missingIds;
+}
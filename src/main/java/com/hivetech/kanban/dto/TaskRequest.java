@@ -3,6 +3,7 @@ package com.hivetech.kanban.dto;
 import com.hivetech.kanban.enums.Priority;
 import com.hivetech.kanban.enums.Status;
 import com.hivetech.kanban.validation.ValidEnum;
+import com.hivetech.kanban.validation.ValidTaskId;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -16,6 +17,10 @@ import lombok.NoArgsConstructor;
 @Builder
 public class TaskRequest {
 
+    // Optional, lets clients create tasks offline under an id they generated themselves
+    @ValidTaskId
+    private Long id;
+
     @NotBlank(message = "Title is required")
     @Size(min = 1, max = 255, message = "Title must be between 1 and 255 characters")
     private String title;
@@ -0,0 +1,32 @@
+package com.hivetech.kanban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskSearchResponse {
+
+    private List<Hit> hits;
+    // Pass as "after" for the next page, null on the last page
+    private String nextCursor;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Hit {
+
+        private TaskResponse task;
+        private float rank;
+        // HTML-escaped text with matched terms wrapped in <mark></mark>, safe to render as HTML
+        private String titleHighlight;
+        private String snippet;
+    }
+}
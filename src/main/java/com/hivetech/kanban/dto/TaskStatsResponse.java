@@ -0,0 +1,22 @@
+package com.hivetech.kanban.dto;
+
+import com.hivetech.kanban.enums.Priority;
+import com.hivetech.kanban.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskStatsResponse {
+
+    private long total;
+    private Map<Status, Long> byStatus;
+    private Map<Priority, Long> byPriority;
+    private Map<Status, Map<Priority, Long>> byStatusAndPriority;
+}
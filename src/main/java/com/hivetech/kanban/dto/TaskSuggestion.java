@@ -0,0 +1,20 @@
+package com.hivetech.kanban.dto;
+
+import com.hivetech.kanban.enums.Priority;
+import com.hivetech.kanban.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskSuggestion {
+
+    private Long id;
+    private String title;
+    private Status status;
+    private Priority priority;
+}
@@ -1,9 +1,12 @@
 package com.hivetech.kanban.entity;
 
+import com.hivetech.kanban.config.HibernateCacheConfig;
 import com.hivetech.kanban.enums.Priority;
 import com.hivetech.kanban.enums.Status;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -11,6 +14,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "tasks")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.TASK_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,7 +23,7 @@ import java.time.LocalDateTime;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TsidGenerated
     private Long id;
 
     @Column(nullable = false, length = 255)
@@ -36,6 +40,10 @@ public class Task {
     @Column(nullable = false, length = 10)
     private Priority priority;
 
+    // Generated from priority by the database (V13), only sorted on
+    @Column(name = "priority_rank", insertable = false, updatable = false)
+    private Short priorityRank;
+
     @Version
     private Long version;
 
@@ -0,0 +1,46 @@
+package com.hivetech.kanban.entity;
+
+import com.hivetech.kanban.enums.Priority;
+import com.hivetech.kanban.enums.Status;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+
+/**
+ * Number of tasks with one status and priority. Read from the task_counter_totals view, which adds
+ * the deltas appended by triggers on the tasks table to the folded counts (see V4 and V11), so the
+ * application only ever reads it.
+ */
+@Entity
+@Table(name = "task_counter_totals")
+@Immutable
+@IdClass(TaskCounter.Key.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskCounter {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Priority priority;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Status status;
+        private Priority priority;
+    }
+}
@@ -0,0 +1,48 @@
+package com.hivetech.kanban.entity;
+
+import com.hivetech.kanban.websocket.TaskEventType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for a task change, written in the same transaction as the change itself.
+ */
+@Entity
+@Table(name = "task_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskEventRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private TaskEventType eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    /**
+     * Position in publication order, assigned by the outbox relay. Unlike the id it follows commit order.
+     */
+    @Column(name = "publish_seq")
+    private Long publishSequence;
+}
@@ -0,0 +1,75 @@
+package com.hivetech.kanban.entity;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-sorted 53-bit identifiers: 41 bits of milliseconds since 2025-01-01 (until 2094), 4 bits of
+ * node id and 8 bits of sequence within the millisecond. 53 bits keep every id exact in JavaScript
+ * numbers, so clients can keep treating ids as numbers.
+ *
+ * Generation is lock-free: timestamp and sequence live in one AtomicLong. A sequence overflow borrows
+ * the next millisecond, so ids of one node are strictly increasing even if the clock steps back.
+ *
+ * Node ids 0-14 are for servers. Node id 15 is reserved for ids that clients assign themselves when
+ * they create tasks offline, so client ids never collide with ids generated by a server. Client ids
+ * must also be at least MIN_CLIENT_ID, which keeps them clear of the BIGSERIAL ids tasks had before
+ * V8: any client id is then at least as far above the legacy range as the ids servers generate.
+ */
+public final class Tsid {
+
+    static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 4;
+    static final int SEQUENCE_BITS = 8;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    public static final int CLIENT_NODE_ID = (1 << NODE_BITS) - 1;
+    public static final long MAX_ID = (1L << 53) - 1;
+    // About 3 days past the epoch, the sequence never got anywhere near it
+    public static final long MIN_CLIENT_ID = 1L << 40;
+    // Client ids may be ahead of the server clock by this much
+    private static final long MAX_CLIENT_CLOCK_SKEW_MILLIS = 60_000;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    private final AtomicLong state = new AtomicLong();
+
+    public Tsid(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    Tsid(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId >= CLIENT_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + (CLIENT_NODE_ID - 1) + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public long next() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        long current = state.updateAndGet(previous -> Math.max(previous + 1, now << SEQUENCE_BITS));
+        return (current >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)
+                | nodeId << SEQUENCE_BITS
+                | current & SEQUENCE_MASK;
+    }
+
+    public static long timestampMillis(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int nodeId(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & CLIENT_NODE_ID;
+    }
+
+    /**
+     * Whether a client may create a task with this id: a 53-bit id on the client node above the
+     * legacy id range whose timestamp is not in the future.
+     */
+    public static boolean isClientAssignable(long id, long nowMillis) {
+        return id >= MIN_CLIENT_ID && id <= MAX_ID
+                && nodeId(id) == CLIENT_NODE_ID
+                && timestampMillis(id) <= nowMillis + MAX_CLIENT_CLOCK_SKEW_MILLIS;
+    }
+}
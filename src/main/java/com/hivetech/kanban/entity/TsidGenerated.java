@@ -0,0 +1,17 @@
+package com.hivetech.kanban.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id generated in-process as a {@link Tsid} before the INSERT, unless one was assigned already.
+ */
+@IdGeneratorType(TsidGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TsidGenerated {
+}
@@ -0,0 +1,51 @@
+package com.hivetech.kanban.entity;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+/**
+ * Hibernate generator behind {@link TsidGenerated}. Ids are known before the INSERT, so inserts are
+ * deferred to the flush and batched, unlike IDENTITY columns.
+ */
+public class TsidGenerator implements BeforeExecutionGenerator, AnnotationBasedGenerator<TsidGenerated> {
+
+    /** Hibernate setting with the node id of this server, 0-14 and unique within the cluster. */
+    public static final String NODE_ID_SETTING = "kanban.tsid.node-id";
+
+    private Tsid tsid;
+
+    // Hibernate creates generators through the Spring bean container, which needs a plain constructor
+    @Override
+    public void initialize(TsidGenerated annotation, Member member, GeneratorCreationContext context) {
+        Object nodeId = context.getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSettings()
+                .get(NODE_ID_SETTING);
+        this.tsid = new Tsid(nodeId != null ? Integer.parseInt(nodeId.toString()) : 0);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        // Hibernate passes no current value on persist, an id assigned by the client is read from the entity
+        Object assigned = session.getEntityPersister(null, owner).getIdentifier(owner, session);
+        return assigned != null ? assigned : tsid.next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
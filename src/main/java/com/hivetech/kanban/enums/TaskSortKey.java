@@ -0,0 +1,91 @@
+package com.hivetech.kanban.enums;
+
+import com.hivetech.kanban.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Sort orders supported by the task list, each backed by an index (V7, V13).
+ *
+ * Every order ends in id as a tiebreaker so pages are stable, and all its properties share one
+ * direction, so a forward or backward scan of the same index serves both directions.
+ * Priority sorts on its rank, LOW before MEDIUM before HIGH, not on the stored name.
+ */
+public enum TaskSortKey {
+
+    CREATED_AT("createdAt", "createdAt"),
+    UPDATED_AT("updatedAt", "updatedAt"),
+    PRIORITY("priority", "priorityRank", "createdAt"),
+    TITLE("title", "title");
+
+    private static final String TIEBREAKER = "id";
+
+    private final String property;
+    private final List<String> properties;
+
+    TaskSortKey(String property, String... properties) {
+        this.property = property;
+        this.properties = List.of(properties);
+    }
+
+    /**
+     * The property clients sort by.
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort toSort(Sort.Direction direction) {
+        return Sort.by(Stream.concat(properties.stream(), Stream.of(TIEBREAKER))
+                .map(property -> new Sort.Order(direction, property))
+                .toList());
+    }
+
+    /**
+     * The full supported order for a requested sort on one key, rejecting any other property or combination.
+     * A sort that already is a full supported order is returned as is.
+     */
+    public static Sort resolve(Sort requested) {
+        List<Sort.Order> orders = requested.toList();
+        if (orders.isEmpty()) {
+            return CREATED_AT.toSort(Sort.Direction.DESC);
+        }
+        if (of(requested) != null) {
+            return requested;
+        }
+
+        Sort.Order first = orders.get(0);
+        TaskSortKey key = Arrays.stream(values())
+                .filter(candidate -> candidate.getProperty().equals(first.getProperty()))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Unsupported sort property: " + first.getProperty()
+                        + ". Supported: " + supported()));
+
+        if (orders.size() > 1) {
+            throw new BadRequestException("Tasks can only be sorted by one of: " + supported());
+        }
+        return key.toSort(first.getDirection());
+    }
+
+    /**
+     * The key whose full order the sort is, or null.
+     */
+    public static TaskSortKey of(Sort sort) {
+        if (sort.isUnsorted()) {
+            return null;
+        }
+        Sort.Direction direction = sort.iterator().next().getDirection();
+        return Arrays.stream(values())
+                .filter(key -> key.toSort(direction).equals(sort))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String supported() {
+        return Arrays.stream(values()).map(TaskSortKey::getProperty).collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,29 @@
+package com.hivetech.kanban.event;
+
+import com.hivetech.kanban.entity.Task;
+import com.hivetech.kanban.websocket.TaskEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops changed tasks from the Hibernate second-level cache, which is local to each node. Without it a
+ * node would keep serving, and failing optimistic lock checks against, tasks changed on another node
+ * until their cache entries expire.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.relay.type", havingValue = "postgres")
+@RequiredArgsConstructor
+public class TaskEntityCacheEvictor implements TaskEventSink {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void onTaskEvent(TaskEvent event) {
+        Long taskId = event.getTask() != null ? event.getTask().getId() : event.getTaskId();
+        if (taskId != null) {
+            entityManagerFactory.getCache().evict(Task.class, taskId);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.hivetech.kanban.event;
+
+import com.hivetech.kanban.websocket.TaskEvent;
+import com.hivetech.kanban.websocket.TaskEventRelay;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fans committed task events out to every local {@link TaskEventSink} and to the other nodes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskEventDispatcher {
+
+    private final List<TaskEventSink> sinks;
+    private final TaskEventRelay eventRelay;
+
+    @PostConstruct
+    public void subscribeToRelay() {
+        // Events from other nodes are only fanned out locally, never relayed again
+        eventRelay.subscribe(this::dispatchLocally);
+    }
+
+    public void dispatch(TaskEvent event) {
+        dispatchLocally(event);
+        eventRelay.publish(event);
+    }
+
+    private void dispatchLocally(TaskEvent event) {
+        for (TaskEventSink sink : sinks) {
+            try {
+                sink.onTaskEvent(event);
+            } catch (RuntimeException e) {
+                // One failing sink must not keep the event from the others
+                log.error("Task event sink {} failed for event {}", sink.getClass().getSimpleName(), event.getEventId(), e);
+            }
+        }
+    }
+}
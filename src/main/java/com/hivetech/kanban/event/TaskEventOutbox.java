@@ -0,0 +1,80 @@
+package com.hivetech.kanban.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.entity.TaskEventRecord;
+import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.readmodel.TaskReadModel;
+import com.hivetech.kanban.repository.TaskEventRecordRepository;
+import com.hivetech.kanban.websocket.TaskEvent;
+import com.hivetech.kanban.websocket.TaskEventType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records task change events in the task_events outbox as part of the caller's transaction.
+ * The events are dispatched by {@link TaskEventOutboxRelay} once the transaction has committed,
+ * so a rolled back change is never announced and a committed one is never lost.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskEventOutbox {
+
+    private final TaskEventRecordRepository eventRepository;
+    private final TaskEventOutboxRelay outboxRelay;
+    private final ObjectMapper objectMapper;
+    private final TaskReadModel readModel;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTaskCreated(TaskResponse task) {
+        append(TaskEvent.builder()
+                .type(TaskEventType.CREATED)
+                .task(task)
+                .build());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTaskUpdated(TaskResponse task, Status previousStatus) {
+        append(TaskEvent.builder()
+                .type(TaskEventType.UPDATED)
+                .task(task)
+                .previousStatus(previousStatus)
+                .build());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTaskDeleted(Long taskId, Status previousStatus) {
+        append(TaskEvent.builder()
+                .type(TaskEventType.DELETED)
+                .taskId(taskId)
+                .previousStatus(previousStatus)
+                .build());
+    }
+
+    private void append(TaskEvent event) {
+        Long taskId = event.getTask() != null ? event.getTask().getId() : event.getTaskId();
+        log.debug("Recording task {} event for task {}", event.getType(), taskId);
+
+        TaskEventRecord record = eventRepository.save(TaskEventRecord.builder()
+                .taskId(taskId)
+                .eventType(event.getType())
+                .payload(serialize(event))
+                .build());
+        event.setEventId(record.getId());
+        readModel.applyAfterCommit(event);
+        outboxRelay.relayAfterCommit();
+    }
+
+    private String serialize(TaskEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task event", e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.hivetech.kanban.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hivetech.kanban.entity.TaskEventRecord;
+import com.hivetech.kanban.repository.TaskEventRecordRepository;
+import com.hivetech.kanban.websocket.TaskEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dispatches outbox events to the {@link TaskEventDispatcher} with at-least-once delivery.
+ *
+ * Events are claimed in batches and only marked as published after they have been dispatched
+ * in the same transaction, so a crash mid-batch leads to redelivery. A relay run is triggered
+ * right after every committing write and also on a fixed schedule to pick up anything left over
+ * from another node or a failed run.
+ *
+ * Each batch holds a Postgres advisory lock until it commits, so only one relay in the cluster
+ * publishes at a time. Under that lock every event gets the next publish sequence: a batch can only
+ * be numbered once the previous one has committed, so sequences follow commit order and consumers
+ * can resume from the last sequence they saw without skipping events committed late.
+ */
+@Component
+@Slf4j
+public class TaskEventOutboxRelay {
+
+    private static final String AFTER_COMMIT_RESOURCE = TaskEventOutboxRelay.class.getName() + ".AFTER_COMMIT";
+    // Advisory lock key of the publication lock, shared by all nodes ("kanbanev")
+    static final long PUBLICATION_LOCK_KEY = 0x6b616e62616e6576L;
+
+    private final TaskEventRecordRepository eventRepository;
+    private final TaskEventDispatcher dispatcher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean relayQueued = new AtomicBoolean();
+
+    public TaskEventOutboxRelay(
+            TaskEventRecordRepository eventRepository,
+            TaskEventDispatcher dispatcher,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${outbox.batch-size:100}") int batchSize,
+            @Value("${outbox.retention-hours:24}") long retentionHours) {
+        this.eventRepository = eventRepository;
+        this.dispatcher = dispatcher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    /**
+     * Requests a relay run once the current transaction commits. Only one run is
+     * registered per transaction, however many events the transaction recorded.
+     */
+    public void relayAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(AFTER_COMMIT_RESOURCE)) {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(AFTER_COMMIT_RESOURCE, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                requestRelay();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(AFTER_COMMIT_RESOURCE);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void requestRelay() {
+        // Coalesce requests: at most one run waits in the queue behind the one in progress
+        if (relayQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                relayQueued.set(false);
+                relayPending();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval-ms:600000}")
+    public void compact() {
+        transactionTemplate.executeWithoutResult(status -> {
+            int superseded = eventRepository.deleteSuperseded();
+            int expired = eventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+            if (superseded + expired > 0) {
+                log.debug("Compacted task outbox: {} superseded, {} expired events removed", superseded, expired);
+            }
+        });
+    }
+
+    void relayPending() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Task outbox relay failed, pending events will be retried", e);
+        }
+    }
+
+    private int relayBatch() {
+        eventRepository.lockPublication(PUBLICATION_LOCK_KEY);
+        List<TaskEventRecord> records = eventRepository.lockUnpublished(batchSize);
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> sequences = eventRepository.nextPublishSequences(records.size()).stream().sorted().toList();
+        LocalDateTime publishedAt = LocalDateTime.now();
+        for (int i = 0; i < records.size(); i++) {
+            TaskEventRecord record = records.get(i);
+            record.setPublishSequence(sequences.get(i));
+            record.setPublishedAt(publishedAt);
+            dispatcher.dispatch(toEvent(record));
+        }
+
+        log.debug("Relayed {} task events from the outbox", records.size());
+        return records.size();
+    }
+
+    private TaskEvent toEvent(TaskEventRecord record) {
+        try {
+            TaskEvent event = objectMapper.readValue(record.getPayload(), TaskEvent.class);
+            event.setEventId(record.getId());
+            event.setSequence(record.getPublishSequence());
+            return event;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not deserialize task event " + record.getId(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
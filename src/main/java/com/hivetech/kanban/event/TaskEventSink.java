@@ -0,0 +1,12 @@
+package com.hivetech.kanban.event;
+
+import com.hivetech.kanban.websocket.TaskEvent;
+
+/**
+ * Local consumer of committed task events. Delivery is at-least-once, so sinks must
+ * tolerate duplicates and use the task version to discard stale updates.
+ */
+public interface TaskEventSink {
+
+    void onTaskEvent(TaskEvent event);
+}
@@ -99,6 +99,23 @@ public class GlobalExceptionHandler {
         );
     }
 
+    /**
+     * 400 - Request rejected by a business rule (e.g., batch too large)
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorResponse> handleBadRequest(BadRequestException ex) {
+        log.warn("Bad request: {}", ex.getMessage());
+        
+        return ResponseEntity.badRequest().body(
+                ErrorResponse.builder()
+                        .timestamp(LocalDateTime.now())
+                        .status(HttpStatus.BAD_REQUEST.value())
+                        .error("Bad Request")
+                        .message(ex.getMessage())
+                        .build()
+        );
+    }
+
     /**
      * 401 - Invalid login credentials
      */
@@ -0,0 +1,38 @@
+package com.hivetech.kanban.graphql;
+
+import com.hivetech.kanban.exception.BadRequestException;
+import com.hivetech.kanban.exception.OptimisticLockException;
+import com.hivetech.kanban.exception.ResourceAlreadyExistsException;
+import com.hivetech.kanban.exception.ResourceNotFoundException;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+/**
+ * GraphQL counterpart of GlobalExceptionHandler: maps our exceptions to GraphQL errors
+ * with a meaningful classification. Anything else stays an INTERNAL_ERROR.
+ */
+@Component
+public class GraphQLExceptionResolver extends DataFetcherExceptionResolverAdapter {
+
+    @Override
+    protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment env) {
+        ErrorType errorType;
+        if (ex instanceof ResourceNotFoundException) {
+            errorType = ErrorType.NOT_FOUND;
+        } else if (ex instanceof BadRequestException || ex instanceof OptimisticLockException
+                || ex instanceof ResourceAlreadyExistsException) {
+            errorType = ErrorType.BAD_REQUEST;
+        } else {
+            return null;
+        }
+
+        return GraphqlErrorBuilder.newError(env)
+                .errorType(errorType)
+                .message(ex.getMessage())
+                .build();
+    }
+}
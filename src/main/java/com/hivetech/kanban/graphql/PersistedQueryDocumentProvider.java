@@ -0,0 +1,106 @@
+package com.hivetech.kanban.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.PersistedQueryError;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Caches parsed and validated GraphQL documents by the SHA-256 hash of their query text,
+ * and serves Automatic Persisted Queries (APQ) from the same cache.
+ *
+ * APQ flow (Apollo protocol):
+ * 1. Client sends only extensions.persistedQuery.sha256Hash
+ * 2. Unknown hash -> PersistedQueryNotFound error, client retries with query text and hash
+ * 3. Hash is checked against the query text, the parsed document is cached under it
+ * 4. Later requests with just the hash skip parsing and validation entirely
+ */
+@Component
+public class PersistedQueryDocumentProvider implements PreparsedDocumentProvider {
+
+    static final String CACHE_NAME = "graphql.documents";
+
+    private final Cache<String, PreparsedDocumentEntry> documents;
+
+    public PersistedQueryDocumentProvider(
+            MeterRegistry meterRegistry,
+            @Value("${graphql.document-cache.max-size:1000}") long maxSize) {
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, documents, CACHE_NAME);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+            ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String persistedQueryHash = persistedQueryHash(executionInput);
+        String query = executionInput.getQuery();
+
+        // Hash only: Spring GraphQL passes a marker instead of the missing query text
+        if (!StringUtils.hasText(query) || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query)) {
+            PreparsedDocumentEntry cached = persistedQueryHash != null ? documents.getIfPresent(persistedQueryHash) : null;
+            return CompletableFuture.completedFuture(
+                    cached != null ? cached : error(new PersistedQueryNotFound(persistedQueryHash), persistedQueryHash));
+        }
+
+        String hash = sha256(query);
+        if (persistedQueryHash != null && !persistedQueryHash.equalsIgnoreCase(hash)) {
+            return CompletableFuture.completedFuture(error(new PersistedQueryIdInvalid(persistedQueryHash), persistedQueryHash));
+        }
+
+        // Validation only depends on the document and the schema, so errors are cached as well
+        return CompletableFuture.completedFuture(
+                documents.get(hash, key -> parseAndValidateFunction.apply(executionInput)));
+    }
+
+    private String persistedQueryHash(ExecutionInput executionInput) {
+        if (executionInput.getExtensions().get("persistedQuery") instanceof Map<?, ?> persistedQuery
+                && persistedQuery.get("sha256Hash") instanceof String hash) {
+            return hash.toLowerCase();
+        }
+        return null;
+    }
+
+    // Apollo clients match on the message ("PersistedQueryNotFound") to retry with the full query
+    private static PreparsedDocumentEntry error(PersistedQueryError error, String persistedQueryHash) {
+        Map<String, Object> extensions = persistedQueryHash != null
+                ? Map.of("persistedQueryId", persistedQueryHash)
+                : Map.of();
+        return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                .errorType(error)
+                .message(error.getMessage())
+                .extensions(extensions)
+                .build());
+    }
+
+    static String sha256(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.hivetech.kanban.graphql;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Static cost analysis of GraphQL operations, applied after validation and before any data fetcher runs.
+ *
+ * Cost of a field = multiplier x (weight + cost of its selections), where:
+ * - weight comes from the @cost directive in schema.graphqls, otherwise 1 for object fields and 0 for scalars
+ * - multiplier for list fields is the "size" argument, else the length of a list argument (batch inputs),
+ *   else default-list-size; 1 for other fields
+ *
+ * Operations exceeding max depth, max cost or max aliases are rejected as a whole.
+ * The computed cost is reported in the "cost" response extension and the graphql.query.cost metric.
+ */
+@Component
+@Slf4j
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    static final String COST_DIRECTIVE = "cost";
+    static final String SIZE_ARGUMENT = "size";
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary costSummary;
+    private final int maxDepth;
+    private final long maxCost;
+    private final int maxAliases;
+    private final int defaultListSize;
+
+    public QueryCostInstrumentation(
+            MeterRegistry meterRegistry,
+            @Value("${graphql.cost.max-depth:10}") int maxDepth,
+            @Value("${graphql.cost.max-cost:1000}") long maxCost,
+            @Value("${graphql.cost.max-aliases:20}") int maxAliases,
+            @Value("${graphql.cost.default-list-size:100}") int defaultListSize) {
+        this.meterRegistry = meterRegistry;
+        this.costSummary = DistributionSummary.builder("graphql.query.cost")
+                .description("Static cost of executed GraphQL operations")
+                .register(meterRegistry);
+        this.maxDepth = maxDepth;
+        this.maxCost = maxCost;
+        this.maxAliases = maxAliases;
+        this.defaultListSize = defaultListSize;
+    }
+
+    @Override
+    public CompletableFuture<InstrumentationState> createStateAsync(InstrumentationCreateStateParameters parameters) {
+        return CompletableFuture.completedFuture(new CostState());
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        QueryCost cost = calculate(parameters.getExecutionContext());
+        ((CostState) state).cost = cost;
+
+        List<GraphQLError> errors = new ArrayList<>();
+        if (cost.depth() > maxDepth) {
+            errors.add(limitError("max-depth", "Query depth %d exceeds the maximum of %d", cost.depth(), maxDepth));
+        }
+        if (cost.aliases() > maxAliases) {
+            errors.add(limitError("max-aliases", "Query uses %d aliases, the maximum is %d", cost.aliases(), maxAliases));
+        }
+        if (cost.cost() > maxCost) {
+            errors.add(limitError("max-cost", "Query cost %d exceeds the maximum of %d", cost.cost(), maxCost));
+        }
+        if (!errors.isEmpty()) {
+            log.debug("Rejected GraphQL operation: {}", cost);
+            throw new AbortExecutionException(errors);
+        }
+
+        costSummary.record(cost.cost());
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(
+            ExecutionResult executionResult, InstrumentationExecutionParameters parameters, InstrumentationState state) {
+        QueryCost cost = state instanceof CostState costState ? costState.cost : null;
+        if (cost == null) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+
+        Map<String, Object> extension = new LinkedHashMap<>();
+        extension.put("requested", cost.cost());
+        extension.put("maximum", maxCost);
+        extension.put("depth", cost.depth());
+        return CompletableFuture.completedFuture(
+                executionResult.transform(builder -> builder.addExtension(COST_DIRECTIVE, extension)));
+    }
+
+    QueryCost calculate(ExecutionContext executionContext) {
+        QueryTraverser traverser = QueryTraverser.newQueryTraverser()
+                .schema(executionContext.getGraphQLSchema())
+                .document(executionContext.getDocument())
+                .operationName(executionContext.getOperationDefinition().getName())
+                .coercedVariables(executionContext.getCoercedVariables())
+                .build();
+
+        // Post-order: every field is visited after its selections, so child costs are complete
+        Map<QueryVisitorFieldEnvironment, Long> childCosts = new HashMap<>();
+        long[] totals = new long[3]; // cost, depth, aliases
+
+        traverser.visitPostOrder(new QueryVisitorStub() {
+            @Override
+            public void visitField(QueryVisitorFieldEnvironment environment) {
+                if (environment.isTypeNameIntrospectionField() || isIntrospection(environment)) {
+                    return;
+                }
+
+                long cost = multiplier(environment)
+                        * (weight(environment.getFieldDefinition()) + childCosts.getOrDefault(environment, 0L));
+                if (environment.getParentEnvironment() == null) {
+                    totals[0] += cost;
+                } else {
+                    childCosts.merge(environment.getParentEnvironment(), cost, Long::sum);
+                }
+
+                totals[1] = Math.max(totals[1], depth(environment));
+                if (environment.getField().getAlias() != null) {
+                    totals[2]++;
+                }
+            }
+        });
+
+        return new QueryCost(totals[0], (int) totals[1], (int) totals[2]);
+    }
+
+    private long weight(GraphQLFieldDefinition fieldDefinition) {
+        GraphQLAppliedDirective directive = fieldDefinition.getAppliedDirective(COST_DIRECTIVE);
+        if (directive != null) {
+            return ((Number) directive.getArgument("weight").getValue()).longValue();
+        }
+        return GraphQLTypeUtil.isLeaf(GraphQLTypeUtil.unwrapAll(fieldDefinition.getType())) ? 0 : 1;
+    }
+
+    private long multiplier(QueryVisitorFieldEnvironment environment) {
+        GraphQLOutputType type = environment.getFieldDefinition().getType();
+        if (!GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(type))) {
+            return 1;
+        }
+        Object size = environment.getArguments().get(SIZE_ARGUMENT);
+        if (size instanceof Number number) {
+            return Math.max(number.longValue(), 0);
+        }
+        return environment.getArguments().values().stream()
+                .filter(Collection.class::isInstance)
+                .mapToLong(argument -> ((Collection<?>) argument).size())
+                .max()
+                .orElse(defaultListSize);
+    }
+
+    private static int depth(QueryVisitorFieldEnvironment environment) {
+        int depth = 0;
+        for (QueryVisitorFieldEnvironment current = environment; current != null; current = current.getParentEnvironment()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    // Introspection (GraphiQL, code generators) is schema-bound and exempt from the limits
+    private static boolean isIntrospection(QueryVisitorFieldEnvironment environment) {
+        for (QueryVisitorFieldEnvironment current = environment; current != null; current = current.getParentEnvironment()) {
+            if (current.getField().getName().startsWith("__")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private GraphQLError limitError(String limit, String message, Object... arguments) {
+        meterRegistry.counter("graphql.query.rejected", "limit", limit).increment();
+        return GraphqlErrorBuilder.newError()
+                .errorType(ErrorType.BAD_REQUEST)
+                .message(message.formatted(arguments))
+                .extensions(Map.of("limit", limit))
+                .build();
+    }
+
+    record QueryCost(long cost, int depth, int aliases) {}
+
+    static class CostState implements InstrumentationState {
+        private QueryCost cost;
+    }
+}
@@ -0,0 +1,23 @@
+package com.hivetech.kanban.graphql;
+
+import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.service.TaskService;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Registers the per-request DataLoader that resolves task ids to tasks.
+ *
+ * All task(id:) fields of one GraphQL request (aliases included) are collected and
+ * resolved with a single TaskService.getTasksByIds call. Data fetchers get the loader
+ * by declaring a DataLoader<Long, TaskResponse> argument.
+ */
+@Component
+public class TaskBatchLoader {
+
+    public TaskBatchLoader(BatchLoaderRegistry registry, TaskService taskService) {
+        registry.forTypePair(Long.class, TaskResponse.class)
+                .registerMappedBatchLoader((ids, environment) -> Mono.fromCallable(() -> taskService.getTasksByIds(ids)));
+    }
+}
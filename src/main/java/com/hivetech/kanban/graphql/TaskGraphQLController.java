@@ -1,20 +1,35 @@
 package com.hivetech.kanban.graphql;
 
+import com.hivetech.kanban.dto.TaskBatchResult;
+import com.hivetech.kanban.dto.TaskBatchUpdateRequest;
 import com.hivetech.kanban.dto.TaskRequest;
 import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.dto.TaskSearchResponse;
 import com.hivetech.kanban.dto.TaskUpdateRequest;
 import com.hivetech.kanban.enums.Priority;
 import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.enums.TaskSortKey;
+import com.hivetech.kanban.exception.BadRequestException;
+import com.hivetech.kanban.service.TaskSearchService;
 import com.hivetech.kanban.service.TaskService;
+import com.hivetech.kanban.websocket.TaskEvent;
+import com.hivetech.kanban.websocket.TaskEventType;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import lombok.RequiredArgsConstructor;
+import org.dataloader.DataLoader;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * GraphQL Controller for Task operations.
@@ -22,6 +37,7 @@ import java.util.List;
  * This is similar to TaskController but for GraphQL.
  * - @QueryMapping = handles "type Query" from schema (read operations)
  * - @MutationMapping = handles "type Mutation" from schema (write operations)
+ * - @SubscriptionMapping = handles "type Subscription" from schema (live updates over graphql-ws)
  * - @Argument = extracts arguments from the GraphQL query
  */
 @Controller
@@ -29,15 +45,18 @@ import java.util.List;
 public class TaskGraphQLController {
 
     private final TaskService taskService;
+    private final TaskSearchService searchService;
+    private final TaskSubscriptionPublisher subscriptionPublisher;
 
     // ==================== QUERIES ====================
 
     /**
-     * Get all tasks, optionally filtered by status.
+     * Get a page of tasks (newest first), optionally filtered by status.
+     * Large pages are bounded by the query cost limit, see QueryCostInstrumentation.
      * 
      * GraphQL query example:
      *   query {
-     *     tasks(status: TO_DO) {
+     *     tasks(status: TO_DO, page: 0, size: 20) {
      *       id
      *       title
      *       status
@@ -45,9 +64,15 @@ public class TaskGraphQLController {
      *   }
      */
     @QueryMapping
-    public List<TaskGraphQL> tasks(@Argument Status status) {
-        // Use unpaged to get all tasks (GraphQL clients handle their own pagination)
-        return taskService.getAllTasks(status, Pageable.unpaged()).getContent()
+    public List<TaskGraphQL> tasks(@Argument Status status, @Argument int page, @Argument int size) {
+        if (page < 0) {
+            throw new BadRequestException("Page must not be negative");
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        Pageable pageable = PageRequest.of(page, size, TaskSortKey.CREATED_AT.toSort(Sort.Direction.DESC));
+        return taskService.getAllTasks(status, pageable).getContent()
                 .stream()
                 .map(this::toGraphQL)
                 .toList();
@@ -68,8 +93,33 @@ public class TaskGraphQLController {
      *   }
      */
     @QueryMapping
-    public TaskGraphQL task(@Argument Long id) {
-        return toGraphQL(taskService.getTaskById(id));
+    public CompletableFuture<TaskGraphQL> task(@Argument Long id, DataLoader<Long, TaskResponse> taskLoader) {
+        // Batched per request, see TaskBatchLoader; unknown ids resolve to null
+        return taskLoader.load(id).thenApply(task -> task != null ? toGraphQL(task) : null);
+    }
+
+    /**
+     * Full-text search over titles and descriptions, best match first.
+     * Pass nextCursor as "after" for the next page.
+     *
+     * GraphQL query example:
+     *   query {
+     *     searchTasks(query: "login bug", status: TO_DO, size: 10) {
+     *       hits { task { id title } titleHighlight snippet }
+     *       nextCursor
+     *     }
+     *   }
+     */
+    @QueryMapping
+    public TaskSearchResultGraphQL searchTasks(@Argument String query, @Argument Status status,
+                                               @Argument Priority priority, @Argument String after, @Argument int size) {
+        TaskSearchResponse result = searchService.search(query, status, priority, after, size);
+        return new TaskSearchResultGraphQL(
+                result.getHits().stream()
+                        .map(hit -> new TaskSearchHitGraphQL(
+                                toGraphQL(hit.getTask()), hit.getRank(), hit.getTitleHighlight(), hit.getSnippet()))
+                        .toList(),
+                result.getNextCursor());
     }
 
     // ==================== MUTATIONS ====================
@@ -93,13 +143,7 @@ public class TaskGraphQLController {
      */
     @MutationMapping
     public TaskGraphQL createTask(@Argument CreateTaskInput input) {
-        TaskRequest request = new TaskRequest();
-        request.setTitle(input.title());
-        request.setDescription(input.description());
-        request.setStatus(input.status());
-        request.setPriority(input.priority());
-        
-        return toGraphQL(taskService.createTask(request));
+        return toGraphQL(taskService.createTask(toRequest(input)));
     }
 
     /**
@@ -122,14 +166,7 @@ public class TaskGraphQLController {
      */
     @MutationMapping
     public TaskGraphQL updateTask(@Argument Long id, @Argument UpdateTaskInput input) {
-        TaskUpdateRequest request = new TaskUpdateRequest();
-        request.setTitle(input.title());
-        request.setDescription(input.description());
-        request.setStatus(input.status());
-        request.setPriority(input.priority());
-        request.setVersion(input.version());
-        
-        return toGraphQL(taskService.updateTask(id, request));
+        return toGraphQL(taskService.updateTask(id, toRequest(input)));
     }
 
     /**
@@ -146,6 +183,91 @@ public class TaskGraphQLController {
         return true;
     }
 
+    // ==================== BATCH MUTATIONS ====================
+
+    /**
+     * Create several tasks in one transaction.
+     * Invalid items are reported in their result and not created.
+     *
+     * GraphQL mutation example:
+     *   mutation {
+     *     createTasks(inputs: [
+     *       { title: "First", status: "TO_DO", priority: "LOW" }
+     *       { title: "Second", status: "TO_DO", priority: "HIGH" }
+     *     ]) {
+     *       task { id title }
+     *       error
+     *       message
+     *     }
+     *   }
+     */
+    @MutationMapping
+    public List<TaskResultGraphQL> createTasks(@Argument List<CreateTaskInput> inputs) {
+        return toGraphQL(taskService.createTasks(inputs.stream().map(this::toRequest).toList()));
+    }
+
+    /**
+     * Update several tasks in one transaction.
+     * Items with a stale version get a VERSION_CONFLICT result and are not updated.
+     *
+     * GraphQL mutation example:
+     *   mutation {
+     *     updateTasks(inputs: [
+     *       { id: 1, input: { title: "Done", status: "DONE", priority: "LOW", version: 0 } }
+     *     ]) {
+     *       id
+     *       task { version }
+     *       error
+     *     }
+     *   }
+     */
+    @MutationMapping
+    public List<TaskResultGraphQL> updateTasks(@Argument List<BatchUpdateTaskInput> inputs) {
+        return toGraphQL(taskService.updateTasks(inputs.stream()
+                .map(input -> new TaskBatchUpdateRequest(input.id(), toRequest(input.input())))
+                .toList()));
+    }
+
+    /**
+     * Delete several tasks in one transaction.
+     *
+     * GraphQL mutation example:
+     *   mutation {
+     *     deleteTasks(ids: [1, 2, 3]) { id error }
+     *   }
+     */
+    @MutationMapping
+    public List<TaskResultGraphQL> deleteTasks(@Argument List<Long> ids) {
+        return toGraphQL(taskService.deleteTasks(ids));
+    }
+
+    // ==================== SUBSCRIPTIONS ====================
+
+    /**
+     * Stream task changes, optionally only for tasks in the given status or leaving it.
+     * Deletions carry no task body and are always streamed.
+     *
+     * GraphQL subscription example (over graphql-ws at /graphql-ws):
+     *   subscription {
+     *     taskChanged(status: IN_PROGRESS) {
+     *       type
+     *       taskId
+     *       previousStatus
+     *       task { id title status }
+     *     }
+     *   }
+     */
+    @SubscriptionMapping
+    public Flux<TaskEventGraphQL> taskChanged(@Argument Status status, DataFetchingFieldSelectionSet selectionSet) {
+        // Skip building the task body for subscribers that did not select it
+        boolean includeTask = selectionSet.contains("task");
+
+        return subscriptionPublisher.events()
+                .filter(event -> status == null || event.getTask() == null || event.getTask().getStatus() == status
+                        || event.getPreviousStatus() == status)
+                .map(event -> toGraphQL(event, includeTask));
+    }
+
     // ==================== HELPER METHOD ====================
     
     private TaskGraphQL toGraphQL(TaskResponse response) {
@@ -161,6 +283,47 @@ public class TaskGraphQLController {
         );
     }
 
+    private List<TaskResultGraphQL> toGraphQL(List<TaskBatchResult> results) {
+        return results.stream()
+                .map(result -> new TaskResultGraphQL(
+                        result.getId(),
+                        result.getTask() != null ? toGraphQL(result.getTask()) : null,
+                        result.getError(),
+                        result.getMessage()))
+                .toList();
+    }
+
+    private TaskRequest toRequest(CreateTaskInput input) {
+        TaskRequest request = new TaskRequest();
+        request.setId(input.id());
+        request.setTitle(input.title());
+        request.setDescription(input.description());
+        request.setStatus(input.status());
+        request.setPriority(input.priority());
+        return request;
+    }
+
+    private TaskUpdateRequest toRequest(UpdateTaskInput input) {
+        TaskUpdateRequest request = new TaskUpdateRequest();
+        request.setTitle(input.title());
+        request.setDescription(input.description());
+        request.setStatus(input.status());
+        request.setPriority(input.priority());
+        request.setVersion(input.version());
+        return request;
+    }
+
+    private TaskEventGraphQL toGraphQL(TaskEvent event, boolean includeTask) {
+        TaskResponse task = event.getTask();
+        return new TaskEventGraphQL(
+                event.getEventId(),
+                event.getType(),
+                task != null ? task.getId() : event.getTaskId(),
+                event.getPreviousStatus(),
+                includeTask && task != null ? toGraphQL(task) : null
+        );
+    }
+
     // ==================== GRAPHQL TYPES ====================
     // Simple record for GraphQL serialization (no HATEOAS complexity)
     
@@ -175,10 +338,38 @@ public class TaskGraphQLController {
         LocalDateTime updatedAt
     ) {}
 
+    record TaskEventGraphQL(
+        Long eventId,
+        TaskEventType type,
+        Long taskId,
+        Status previousStatus,
+        TaskGraphQL task
+    ) {}
+
+    record TaskResultGraphQL(
+        Long id,
+        TaskGraphQL task,
+        TaskBatchResult.ErrorCode error,
+        String message
+    ) {}
+
+    record TaskSearchHitGraphQL(
+        TaskGraphQL task,
+        float rank,
+        String titleHighlight,
+        String snippet
+    ) {}
+
+    record TaskSearchResultGraphQL(
+        List<TaskSearchHitGraphQL> hits,
+        String nextCursor
+    ) {}
+
     // ==================== INPUT RECORDS ====================
     // These map to the "input" types in the GraphQL schema
     
     record CreateTaskInput(
+        Long id,
         String title,
         String description,
         String status,
@@ -192,5 +383,9 @@ public class TaskGraphQLController {
         String priority,
         Long version
     ) {}
-}
 
+    record BatchUpdateTaskInput(
+        Long id,
+        UpdateTaskInput input
+    ) {}
+}
@@ -0,0 +1,33 @@
+package com.hivetech.kanban.graphql;
+
+import com.hivetech.kanban.event.TaskEventSink;
+import com.hivetech.kanban.websocket.TaskEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+/**
+ * Feeds GraphQL subscriptions from the same committed event stream as the STOMP broadcaster.
+ *
+ * Best-effort multicast: a subscriber that cannot keep up misses events rather than
+ * buffering without bound or slowing down the other subscribers.
+ */
+@Component
+public class TaskSubscriptionPublisher implements TaskEventSink {
+
+    // Relay threads may emit concurrently; retry briefly instead of failing the emission
+    private static final Duration EMIT_TIMEOUT = Duration.ofMillis(100);
+
+    private final Sinks.Many<TaskEvent> sink = Sinks.many().multicast().directBestEffort();
+
+    @Override
+    public void onTaskEvent(TaskEvent event) {
+        sink.emitNext(event, Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT));
+    }
+
+    public Flux<TaskEvent> events() {
+        return sink.asFlux();
+    }
+}
@@ -0,0 +1,292 @@
+package com.hivetech.kanban.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hivetech.kanban.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Makes task mutations safe to retry: a request that carries an Idempotency-Key header is executed
+ * at most once per key, and retries get the stored response of the first execution.
+ *
+ * Applies to POST, PUT, PATCH and DELETE under /api/tasks and to POST /graphql (so GraphQL mutations
+ * can be retried as well). Keys are scoped to the authenticated user, or the client address for
+ * anonymous GraphQL requests. A request is identified by a fingerprint of its method, URI and body:
+ * - the same request again replays the stored response, marked with Idempotent-Replayed: true
+ * - a different request with a used key is rejected with 422
+ * - a retry while the first request is still running is rejected with 409
+ *
+ * Server errors (5xx) are not stored, so a retry after one is executed again.
+ */
+@Component
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private static final String PENDING_ATTRIBUTE = IdempotencyFilter.class.getName() + ".PENDING";
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (request.getHeader(IDEMPOTENCY_KEY_HEADER) == null || !MUTATING_METHODS.contains(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean taskPath = path.equals("/api/tasks") || path.startsWith("/api/tasks/");
+        boolean graphQlPath = path.equals("/graphql") && "POST".equals(request.getMethod());
+        return !taskPath && !graphQlPath;
+    }
+
+    // GraphQL over HTTP completes its response in an async dispatch, which is when it can be stored
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        PendingRequest pending = (PendingRequest) request.getAttribute(PENDING_ATTRIBUTE);
+        ContentCachingResponseWrapper cachingResponse;
+
+        if (pending != null) {
+            cachingResponse = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        } else if (isAsyncDispatch(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        } else {
+            String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+            if (!isValidKey(key)) {
+                writeError(request, response, HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1 to "
+                        + MAX_KEY_LENGTH + " visible ASCII characters");
+                return;
+            }
+
+            byte[] body = request.getInputStream().readAllBytes();
+            pending = new PendingRequest(owner(request), key, fingerprint(request, body));
+
+            IdempotencyStore.Claim claim = store.claim(pending.owner(), pending.key(), pending.fingerprint());
+            switch (claim.status()) {
+                case REPLAY -> {
+                    log.debug("Replaying response for idempotency key {} of {}", key, pending.owner());
+                    replay(response, claim.response());
+                    return;
+                }
+                case IN_PROGRESS -> {
+                    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                    writeError(request, response, HttpStatus.CONFLICT,
+                            "A request with this Idempotency-Key is still being processed");
+                    return;
+                }
+                case MISMATCH -> {
+                    writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                            "Idempotency-Key has already been used for a different request");
+                    return;
+                }
+                case ACQUIRED -> {
+                    // first execution, continue below
+                }
+            }
+
+            request.setAttribute(PENDING_ATTRIBUTE, pending);
+            request = new CachedBodyRequest(request, body);
+            cachingResponse = new ContentCachingResponseWrapper(response);
+            response = cachingResponse;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            store.release(pending.owner(), pending.key(), pending.fingerprint());
+            throw e;
+        }
+
+        if (!isAsyncStarted(request) && cachingResponse != null) {
+            finish(pending, cachingResponse);
+        }
+    }
+
+    private void finish(PendingRequest pending, ContentCachingResponseWrapper response) throws IOException {
+        try {
+            if (response.getStatus() >= 500) {
+                store.release(pending.owner(), pending.key(), pending.fingerprint());
+            } else {
+                store.complete(pending.owner(), pending.key(), pending.fingerprint(),
+                        new IdempotencyStore.StoredResponse(pending.fingerprint(), response.getStatus(),
+                                response.getContentType(), response.getContentAsByteArray()));
+            }
+        } finally {
+            response.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyStore.StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null && stored.body().length > 0) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response,
+                            HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    static boolean isValidKey(String key) {
+        return key != null && !key.isEmpty() && key.length() <= MAX_KEY_LENGTH
+                && key.chars().allMatch(c -> c > 0x20 && c < 0x7f);
+    }
+
+    static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String owner(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isEmpty()) {
+            return "ip:" + forwardedFor.split(",")[0].trim();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    record PendingRequest(String owner, String key, String fingerprint) {}
+
+    /**
+     * The body has been read for the fingerprint, so it is served again from memory.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
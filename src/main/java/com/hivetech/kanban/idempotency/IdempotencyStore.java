@@ -0,0 +1,145 @@
+package com.hivetech.kanban.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hivetech.kanban.entity.IdempotencyRecord;
+import com.hivetech.kanban.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency keys and their stored responses.
+ *
+ * The idempotency_keys table is the source of truth shared by all nodes: a request claims its key
+ * with an insert, so of two concurrent requests with the same key only one proceeds, whichever node
+ * they hit. Completed responses are also kept in a local cache, so replays on the node that served
+ * the original request (the common case behind sticky load balancing) skip the database.
+ *
+ * Every statement runs in its own read-write transaction, which also keeps the lookups on the primary
+ * when read replicas are enabled.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration retention;
+    private final Duration lockTimeout;
+    private final Cache<IdempotencyRecord.Key, StoredResponse> responses;
+
+    public IdempotencyStore(
+            IdempotencyRecordRepository repository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${idempotency.retention-hours:24}") long retentionHours,
+            @Value("${idempotency.lock-timeout-ms:60000}") long lockTimeoutMs,
+            @Value("${idempotency.cache.max-size:10000}") long cacheMaxSize) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.retention = Duration.ofHours(retentionHours);
+        this.lockTimeout = Duration.ofMillis(lockTimeoutMs);
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    /**
+     * Claims the key for a request with the given fingerprint, unless an earlier request already holds it.
+     */
+    public Claim claim(String owner, String key, String fingerprint) {
+        IdempotencyRecord.Key id = new IdempotencyRecord.Key(owner, key);
+        StoredResponse cached = responses.getIfPresent(id);
+        if (cached != null) {
+            return outcome(cached.fingerprint().equals(fingerprint)
+                    ? new Claim(ClaimStatus.REPLAY, cached)
+                    : new Claim(ClaimStatus.MISMATCH, null));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Claim claim = transactionTemplate.execute(status -> {
+            if (repository.claim(owner, key, fingerprint, now, now.plus(lockTimeout)) == 1) {
+                return new Claim(ClaimStatus.ACQUIRED, null);
+            }
+            return repository.findById(id)
+                    .map(record -> existing(id, record, fingerprint))
+                    // Deleted by a release in between, the client may simply retry
+                    .orElseGet(() -> new Claim(ClaimStatus.IN_PROGRESS, null));
+        });
+        return outcome(claim);
+    }
+
+    /**
+     * Stores the response of a claimed request, to be replayed for every retry until the key expires.
+     */
+    public void complete(String owner, String key, String fingerprint, StoredResponse response) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(retention);
+        Integer updated = transactionTemplate.execute(status -> repository.complete(
+                owner, key, fingerprint, response.status(), response.contentType(), response.body(), expiresAt));
+        if (updated != null && updated == 1) {
+            responses.put(new IdempotencyRecord.Key(owner, key), response);
+        } else {
+            log.warn("Idempotency key {} of {} expired before its request completed", key, owner);
+        }
+    }
+
+    /**
+     * Gives up a claim without a response, so that a retry of the request is executed again.
+     */
+    public void release(String owner, String key, String fingerprint) {
+        transactionTemplate.executeWithoutResult(status -> repository.release(owner, key, fingerprint));
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:600000}")
+    public void deleteExpired() {
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteExpired(LocalDateTime.now()));
+        if (deleted != null && deleted > 0) {
+            log.debug("Removed {} expired idempotency keys", deleted);
+        }
+    }
+
+    private Claim existing(IdempotencyRecord.Key id, IdempotencyRecord record, String fingerprint) {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            return new Claim(ClaimStatus.MISMATCH, null);
+        }
+        if (!record.isCompleted()) {
+            return new Claim(ClaimStatus.IN_PROGRESS, null);
+        }
+
+        StoredResponse response = new StoredResponse(record.getFingerprint(), record.getResponseStatus(),
+                record.getResponseContentType(), record.getResponseBody());
+        responses.put(id, response);
+        return new Claim(ClaimStatus.REPLAY, response);
+    }
+
+    private Claim outcome(Claim claim) {
+        meterRegistry.counter("idempotency.requests", "outcome", claim.status().name().toLowerCase()).increment();
+        return claim;
+    }
+
+    public enum ClaimStatus {
+        /** The key is new (or expired): execute the request and store its response */
+        ACQUIRED,
+        /** The key has a response for the same request: send it again */
+        REPLAY,
+        /** The same key is still being executed by another request */
+        IN_PROGRESS,
+        /** The key was used for a different request */
+        MISMATCH
+    }
+
+    public record Claim(ClaimStatus status, StoredResponse response) {}
+
+    public record StoredResponse(String fingerprint, int status, String contentType, byte[] body) {}
+}
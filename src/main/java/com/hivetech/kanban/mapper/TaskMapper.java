@@ -12,10 +12,10 @@ import org.mapstruct.*;
 @Mapper(componentModel = "spring")
 public interface TaskMapper {
 
-    @Mapping(target = "id", ignore = true)
     @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "priorityRank", ignore = true)
     @Mapping(target = "status", source = "status", qualifiedByName = "stringToStatus")
     @Mapping(target = "priority", source = "priority", qualifiedByName = "stringToPriority")
     Task toEntity(TaskRequest request);
@@ -26,6 +26,7 @@ public interface TaskMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "priorityRank", ignore = true)
     @Mapping(target = "status", source = "status", qualifiedByName = "stringToStatus")
     @Mapping(target = "priority", source = "priority", qualifiedByName = "stringToPriority")
     Task updateEntity(@MappingTarget Task task, TaskUpdateRequest request);
@@ -35,6 +36,7 @@ public interface TaskMapper {
     @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "priorityRank", ignore = true)
     @Mapping(target = "status", source = "status", qualifiedByName = "stringToStatus")
     @Mapping(target = "priority", source = "priority", qualifiedByName = "stringToPriority")
     void patchEntity(@MappingTarget Task task, TaskPatchRequest request);
@@ -0,0 +1,386 @@
+package com.hivetech.kanban.readmodel;
+
+import com.hivetech.kanban.dto.BoardResponse;
+import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.entity.Task;
+import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.enums.TaskSortKey;
+import com.hivetech.kanban.event.TaskEventSink;
+import com.hivetech.kanban.mapper.TaskMapper;
+import com.hivetech.kanban.repository.TaskRepository;
+import com.hivetech.kanban.websocket.TaskEvent;
+import com.hivetech.kanban.websocket.TaskEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional in-memory read model of all tasks (read-model.enabled), serving task reads and the board
+ * without a database round trip.
+ *
+ * All tasks are loaded once the application is ready and indexed per status, sorted by createdAt and
+ * by priority. The model is then kept current from committed task events: writes on this node are
+ * applied right after their transaction commits, so a client reads its own writes, and changes from
+ * other nodes arrive through the outbox relay. Events older than the held version of a task are ignored.
+ *
+ * Readers never lock. An update briefly removes the old version of a task from the sorted indexes
+ * before adding the new one, so a concurrent page read may miss that task once.
+ *
+ * A background reconciler compares ids and versions with the database and repairs any drift.
+ * Loading and reconciling read in read-write transactions, which keeps them on the primary when read
+ * replicas are enabled: a lagging replica would miss recent tasks whose events were already applied.
+ * Until the initial load has finished, and for queries the indexes cannot answer (sorts other than
+ * createdAt or priority), {@link com.hivetech.kanban.service.TaskService} falls back to the database.
+ */
+@Component("taskReadModel")
+@Slf4j
+public class TaskReadModel implements TaskEventSink {
+
+    // Ties are broken by id so distinct tasks never compare as equal
+    static final Comparator<TaskResponse> BY_CREATED_AT = Comparator
+            .comparing(TaskResponse::getCreatedAt)
+            .thenComparing(TaskResponse::getId);
+    // Enum order, the same as the priority rank the database sorts on
+    static final Comparator<TaskResponse> BY_PRIORITY = Comparator
+            .comparing(TaskResponse::getPriority)
+            .thenComparing(TaskResponse::getCreatedAt)
+            .thenComparing(TaskResponse::getId);
+
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter repairs;
+    private final boolean enabled;
+    private final int batchSize;
+
+    private final ConcurrentSkipListMap<Long, TaskResponse> tasks = new ConcurrentSkipListMap<>();
+    private final Index byCreatedAt = new Index(BY_CREATED_AT);
+    private final Index byPriority = new Index(BY_PRIORITY);
+    private final Map<Status, AtomicLong> counts = new EnumMap<>(Status.class);
+
+    private final Object writeLock = new Object();
+    private final Set<Long> deletedWhileLoading = new HashSet<>(); // guarded by writeLock
+    private boolean loading; // guarded by writeLock
+    private volatile boolean serving;
+
+    public TaskReadModel(
+            TaskRepository taskRepository,
+            TaskMapper taskMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${read-model.enabled:false}") boolean enabled,
+            @Value("${read-model.batch-size:10000}") int batchSize) {
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        for (Status status : Status.values()) {
+            counts.put(status, new AtomicLong());
+        }
+
+        this.repairs = Counter.builder("read_model.repairs")
+                .description("Tasks corrected in the read model by the reconciler")
+                .register(meterRegistry);
+        Gauge.builder("read_model.tasks", tasks, Map::size)
+                .description("Tasks held in the read model")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether reads can be served from the model: enabled and fully loaded.
+     */
+    public boolean isServing() {
+        return serving;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        synchronized (writeLock) {
+            loading = true;
+        }
+
+        // Keyset batches keep memory flat; events arriving meanwhile are applied concurrently
+        // and win over older loaded rows by version
+        long lastId = 0;
+        List<Task> batch;
+        do {
+            long after = lastId;
+            batch = transactionTemplate.execute(status ->
+                    taskRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(batchSize)));
+            synchronized (writeLock) {
+                for (Task task : batch) {
+                    if (!deletedWhileLoading.contains(task.getId())) {
+                        put(taskMapper.toResponse(task));
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
+
+        synchronized (writeLock) {
+            loading = false;
+            deletedWhileLoading.clear();
+        }
+        serving = true;
+        log.info("Loaded {} tasks into the read model in {} ms", tasks.size(), System.currentTimeMillis() - started);
+    }
+
+    @Override
+    public void onTaskEvent(TaskEvent event) {
+        if (enabled) {
+            apply(event);
+        }
+    }
+
+    /**
+     * Applies a change made by the current transaction once it commits, ahead of the outbox relay.
+     */
+    public void applyAfterCommit(TaskEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(event);
+            }
+        });
+    }
+
+    void apply(TaskEvent event) {
+        synchronized (writeLock) {
+            if (event.getType() == TaskEventType.DELETED) {
+                remove(event.getTaskId());
+            } else if (event.getTask() != null) {
+                put(event.getTask());
+            }
+        }
+    }
+
+    public TaskResponse findById(Long id) {
+        return tasks.get(id);
+    }
+
+    /**
+     * @return the requested page, or null if the sort cannot be served from the indexes
+     */
+    public Page<TaskResponse> findAll(Status status, Pageable pageable) {
+        NavigableSet<TaskResponse> index = resolve(status, pageable.getSort());
+        if (index == null) {
+            return null;
+        }
+
+        long total = status != null ? counts.get(status).get() : tasks.size();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(List.copyOf(index), pageable, total);
+        }
+
+        List<TaskResponse> content = new ArrayList<>(pageable.getPageSize());
+        Iterator<TaskResponse> iterator = index.iterator();
+        for (long skipped = 0; skipped < pageable.getOffset() && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (content.size() < pageable.getPageSize() && iterator.hasNext()) {
+            content.add(iterator.next());
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    public BoardResponse getBoard(int columnSize) {
+        List<BoardResponse.Column> columns = new ArrayList<>();
+        for (Status status : Status.values()) {
+            columns.add(BoardResponse.Column.builder()
+                    .status(status)
+                    .count(counts.get(status).get())
+                    .tasks(byCreatedAt.get(status).descendingSet().stream().limit(columnSize).toList())
+                    .build());
+        }
+        return BoardResponse.builder().columns(columns).build();
+    }
+
+    private NavigableSet<TaskResponse> resolve(Status status, Sort sort) {
+        if (sort.isUnsorted()) {
+            return byCreatedAt.get(status).descendingSet();
+        }
+        // The indexes hold the full TaskSortKey orders, id tiebreaker included
+        TaskSortKey key = TaskSortKey.of(sort);
+        Index index = key == null ? null : switch (key) {
+            case CREATED_AT -> byCreatedAt;
+            case PRIORITY -> byPriority;
+            default -> null;
+        };
+        if (index == null) {
+            return null;
+        }
+        return sort.iterator().next().isAscending() ? index.get(status) : index.get(status).descendingSet();
+    }
+
+    /**
+     * Compares every task id and version with the database and reloads or drops what has drifted.
+     */
+    @Scheduled(fixedDelayString = "${read-model.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        if (!serving) {
+            return;
+        }
+
+        int repaired = 0;
+        long lastId = 0;
+        Batch checked;
+        do {
+            long after = lastId;
+            checked = transactionTemplate.execute(status -> reconcileBatch(after));
+            repaired += checked.repaired();
+            lastId = checked.upperId();
+        } while (checked.full());
+
+        if (repaired > 0) {
+            repairs.increment(repaired);
+            log.warn("Read model reconciler repaired {} tasks", repaired);
+        }
+    }
+
+    private Batch reconcileBatch(long lastId) {
+        List<TaskRepository.TaskVersionView> batch = taskRepository.findVersionsAfter(lastId, Limit.of(batchSize));
+        boolean full = batch.size() == batchSize;
+        long upperId = full ? batch.get(batch.size() - 1).getId() : Long.MAX_VALUE;
+
+        Set<Long> stale = new HashSet<>();
+        Set<Long> unknown = new HashSet<>(tasks.subMap(lastId, false, upperId, true).keySet());
+        for (TaskRepository.TaskVersionView row : batch) {
+            unknown.remove(row.getId());
+            TaskResponse held = tasks.get(row.getId());
+            if (held == null || held.getVersion() < row.getVersion()) {
+                stale.add(row.getId());
+            }
+        }
+        return new Batch(upperId, full, repair(stale, unknown));
+    }
+
+    private record Batch(long upperId, boolean full, int repaired) {}
+
+    private int repair(Set<Long> stale, Set<Long> unknown) {
+        int repaired = 0;
+        if (!stale.isEmpty()) {
+            for (Task task : taskRepository.findAllById(stale)) {
+                synchronized (writeLock) {
+                    repaired += put(taskMapper.toResponse(task)) ? 1 : 0;
+                }
+            }
+        }
+        if (!unknown.isEmpty()) {
+            // Tasks created after the batch was read are still in the model legitimately
+            taskRepository.findStatusesByIds(unknown).forEach(task -> unknown.remove(task.getId()));
+            synchronized (writeLock) {
+                for (Long id : unknown) {
+                    repaired += remove(id) ? 1 : 0;
+                }
+            }
+        }
+        return repaired;
+    }
+
+    // Callers hold writeLock
+    private boolean put(TaskResponse task) {
+        TaskResponse held = tasks.get(task.getId());
+        if (held != null && held.getVersion() >= task.getVersion()) {
+            return false;
+        }
+        if (held != null) {
+            unindex(held);
+        }
+        tasks.put(task.getId(), task);
+        byCreatedAt.add(task);
+        byPriority.add(task);
+        counts.get(task.getStatus()).incrementAndGet();
+        return true;
+    }
+
+    // Callers hold writeLock
+    private boolean remove(Long id) {
+        if (loading) {
+            deletedWhileLoading.add(id);
+        }
+        TaskResponse held = tasks.remove(id);
+        if (held == null) {
+            return false;
+        }
+        unindex(held);
+        return true;
+    }
+
+    private void unindex(TaskResponse task) {
+        byCreatedAt.remove(task);
+        byPriority.remove(task);
+        counts.get(task.getStatus()).decrementAndGet();
+    }
+
+    /**
+     * One sorted set per status plus one over all tasks, all in the same order.
+     */
+    private static final class Index {
+
+        private final NavigableSet<TaskResponse> all;
+        private final Map<Status, NavigableSet<TaskResponse>> byStatus = new EnumMap<>(Status.class);
+
+        private Index(Comparator<TaskResponse> order) {
+            this.all = new ConcurrentSkipListSet<>(order);
+            for (Status status : Status.values()) {
+                byStatus.put(status, new ConcurrentSkipListSet<>(order));
+            }
+        }
+
+        NavigableSet<TaskResponse> get(Status status) {
+            return status != null ? byStatus.get(status) : all;
+        }
+
+        void add(TaskResponse task) {
+            all.add(task);
+            byStatus.get(task.getStatus()).add(task);
+        }
+
+        void remove(TaskResponse task) {
+            all.remove(task);
+            byStatus.get(task.getStatus()).remove(task);
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package com.hivetech.kanban.readmodel;
+
+import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.dto.TaskSuggestion;
+import com.hivetech.kanban.enums.Priority;
+import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.event.TaskEventSink;
+import com.hivetech.kanban.repository.TaskRepository;
+import com.hivetech.kanban.websocket.TaskEvent;
+import com.hivetech.kanban.websocket.TaskEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over task titles for typeahead suggestions (GET /api/tasks/suggest).
+ *
+ * Titles are lowercased and indexed by every trigram they contain, plus the first one and two
+ * characters of each word. A query of three or more characters matches titles containing it anywhere:
+ * its rarest trigram gives the candidates, which are then checked with a plain contains. Shorter
+ * queries match the start of a word.
+ *
+ * Tasks are spread over shards by id, each behind its own read/write lock, so an update only blocks
+ * readers of one shard. Every shard gets an equal part of the memory budget and evicts its oldest
+ * tasks once over it. The index is loaded when the application is ready and then kept current from
+ * committed task events; until the load finishes, suggestions only cover the tasks seen so far.
+ * The load reads in read-write transactions, so it stays on the primary when read replicas are enabled.
+ */
+@Component
+@Slf4j
+public class TaskTitleIndex implements TaskEventSink {
+
+    public static final int MAX_LIMIT = 50;
+
+    // Marks the start of a word, never part of a normalized title
+    static final char WORD_START = '\u0001';
+
+    // Higher priority first, then newer tasks
+    static final Comparator<Entry> RANKING = Comparator
+            .comparing((Entry entry) -> entry.priority().ordinal())
+            .thenComparing(Entry::createdAt)
+            .thenComparing(Entry::id)
+            .reversed();
+
+    private static final Comparator<Entry> OLDEST_FIRST = Comparator
+            .comparing(Entry::createdAt)
+            .thenComparing(Entry::id);
+
+    // Rough heap cost of an entry (record, map and tree nodes, boxed key) and of a posting list
+    private static final long ENTRY_OVERHEAD_BYTES = 160;
+    private static final long POSTINGS_OVERHEAD_BYTES = 96;
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Shard[] shards;
+    private final long shardBudgetBytes;
+    private final int batchSize;
+    private final Counter evictions;
+
+    private final Object loadLock = new Object();
+    private final Set<Long> deletedWhileLoading = new HashSet<>(); // guarded by loadLock
+    private boolean loading; // guarded by loadLock
+
+    public TaskTitleIndex(
+            TaskRepository taskRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${suggest.shards:16}") int shardCount,
+            @Value("${suggest.memory-budget-mb:64}") long memoryBudgetMb,
+            @Value("${suggest.batch-size:10000}") int batchSize) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+        this.shardBudgetBytes = memoryBudgetMb * 1024 * 1024 / shardCount;
+        this.batchSize = batchSize;
+
+        this.evictions = Counter.builder("title_index.evictions")
+                .description("Tasks dropped from the title index to stay within its memory budget")
+                .register(meterRegistry);
+        Gauge.builder("title_index.tasks", this, TaskTitleIndex::size)
+                .description("Tasks held in the title index")
+                .register(meterRegistry);
+        Gauge.builder("title_index.bytes", this, TaskTitleIndex::estimatedBytes)
+                .description("Estimated heap used by the title index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.currentTimeMillis();
+        synchronized (loadLock) {
+            loading = true;
+        }
+
+        long lastId = 0;
+        List<TaskRepository.TaskTitleView> batch;
+        do {
+            long after = lastId;
+            batch = transactionTemplate.execute(status -> taskRepository.findTitlesAfter(after, Limit.of(batchSize)));
+            synchronized (loadLock) {
+                for (TaskRepository.TaskTitleView task : batch) {
+                    if (!deletedWhileLoading.contains(task.getId())) {
+                        put(new Entry(task.getId(), task.getTitle(), normalize(task.getTitle()), task.getStatus(),
+                                task.getPriority(), task.getVersion(), task.getCreatedAt()));
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
+
+        synchronized (loadLock) {
+            loading = false;
+            deletedWhileLoading.clear();
+        }
+        log.info("Indexed {} task titles in {} ms", size(), System.currentTimeMillis() - started);
+    }
+
+    @Override
+    public void onTaskEvent(TaskEvent event) {
+        if (event.getType() == TaskEventType.DELETED) {
+            synchronized (loadLock) {
+                if (loading) {
+                    deletedWhileLoading.add(event.getTaskId());
+                }
+            }
+            remove(event.getTaskId());
+        } else if (event.getTask() != null) {
+            TaskResponse task = event.getTask();
+            put(new Entry(task.getId(), task.getTitle(), normalize(task.getTitle()), task.getStatus(),
+                    task.getPriority(), task.getVersion(), task.getCreatedAt()));
+        }
+    }
+
+    /**
+     * Up to limit tasks whose title contains the query (or has a word starting with it, for queries
+     * shorter than three characters), title prefix matches first, then by priority and recency.
+     */
+    public List<TaskSuggestion> suggest(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        long[] grams = queryGrams(normalized);
+
+        // The best limit matches so far, worst at the head
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, Comparator.reverseOrder());
+        for (Shard shard : shards) {
+            shard.lock.readLock().lock();
+            try {
+                Postings candidates = shard.rarest(grams);
+                for (int i = 0; candidates != null && i < candidates.size; i++) {
+                    Entry entry = shard.entries.get(candidates.ids[i]);
+                    if (entry != null && matches(entry.normalized(), normalized)) {
+                        best.add(new Match(entry, entry.normalized().startsWith(normalized)));
+                        if (best.size() > limit) {
+                            best.poll();
+                        }
+                    }
+                }
+            } finally {
+                shard.lock.readLock().unlock();
+            }
+        }
+
+        List<Match> ranked = new ArrayList<>(best);
+        ranked.sort(Comparator.naturalOrder());
+        return ranked.stream()
+                .map(match -> TaskSuggestion.builder()
+                        .id(match.entry().id())
+                        .title(match.entry().title())
+                        .status(match.entry().status())
+                        .priority(match.entry().priority())
+                        .build())
+                .toList();
+    }
+
+    int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            shard.lock.readLock().lock();
+            try {
+                size += shard.entries.size();
+            } finally {
+                shard.lock.readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    long estimatedBytes() {
+        long bytes = 0;
+        for (Shard shard : shards) {
+            bytes += shard.bytes;
+        }
+        return bytes;
+    }
+
+    private void put(Entry entry) {
+        Shard shard = shardOf(entry.id());
+        shard.lock.writeLock().lock();
+        try {
+            Entry held = shard.entries.get(entry.id());
+            if (held != null && held.version() >= entry.version()) {
+                return;
+            }
+            if (held != null) {
+                shard.unindex(held);
+            }
+            shard.index(entry);
+
+            while (shard.bytes > shardBudgetBytes && !shard.byAge.isEmpty()) {
+                shard.unindex(shard.byAge.first());
+                evictions.increment();
+            }
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long id) {
+        Shard shard = shardOf(id);
+        shard.lock.writeLock().lock();
+        try {
+            Entry held = shard.entries.get(id);
+            if (held != null) {
+                shard.unindex(held);
+            }
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+    }
+
+    private Shard shardOf(long id) {
+        return shards[(int) Math.floorMod(id, (long) shards.length)];
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    static boolean matches(String title, String query) {
+        if (query.length() >= 3) {
+            return title.contains(query);
+        }
+        return title.startsWith(query) || title.contains(" " + query);
+    }
+
+    /**
+     * Grams a title is indexed by: all trigrams, plus the one and two character prefixes of each word.
+     */
+    static long[] titleGrams(String title) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= title.length(); i++) {
+            grams.add(gram(title.charAt(i), title.charAt(i + 1), title.charAt(i + 2)));
+        }
+        for (int i = 0; i < title.length(); i++) {
+            boolean wordStart = title.charAt(i) != ' ' && (i == 0 || title.charAt(i - 1) == ' ');
+            if (wordStart) {
+                grams.add(gram(WORD_START, WORD_START, title.charAt(i)));
+                if (i + 1 < title.length() && title.charAt(i + 1) != ' ') {
+                    grams.add(gram(WORD_START, title.charAt(i), title.charAt(i + 1)));
+                }
+            }
+        }
+        return grams.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    static long[] queryGrams(String query) {
+        return switch (query.length()) {
+            case 1 -> new long[]{gram(WORD_START, WORD_START, query.charAt(0))};
+            case 2 -> new long[]{gram(WORD_START, query.charAt(0), query.charAt(1))};
+            default -> {
+                long[] grams = new long[query.length() - 2];
+                for (int i = 0; i < grams.length; i++) {
+                    grams[i] = gram(query.charAt(i), query.charAt(i + 1), query.charAt(i + 2));
+                }
+                yield grams;
+            }
+        };
+    }
+
+    private static long gram(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    record Entry(Long id, String title, String normalized, Status status, Priority priority,
+                 Long version, LocalDateTime createdAt) {
+
+        long estimatedBytes(int grams) {
+            return ENTRY_OVERHEAD_BYTES + 2L * (title.length() + normalized.length()) + 8L * grams;
+        }
+    }
+
+    record Match(Entry entry, boolean prefix) implements Comparable<Match> {
+
+        @Override
+        public int compareTo(Match other) {
+            // Better matches sort first: title prefix matches, then by ranking
+            if (prefix != other.prefix) {
+                return prefix ? -1 : 1;
+            }
+            return RANKING.compare(entry, other.entry);
+        }
+    }
+
+    private static final class Shard {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private final TreeSet<Entry> byAge = new TreeSet<>(OLDEST_FIRST);
+        private volatile long bytes;
+
+        // Callers hold the read lock; null if any gram has no postings, so nothing can match
+        Postings rarest(long[] grams) {
+            Postings rarest = null;
+            for (long gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return null;
+                }
+                if (rarest == null || list.size < rarest.size) {
+                    rarest = list;
+                }
+            }
+            return rarest;
+        }
+
+        // Callers hold the write lock
+        void index(Entry entry) {
+            long[] grams = titleGrams(entry.normalized());
+            long added = entry.estimatedBytes(grams.length);
+            for (long gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    list = new Postings();
+                    postings.put(gram, list);
+                    added += POSTINGS_OVERHEAD_BYTES;
+                }
+                list.add(entry.id());
+            }
+            entries.put(entry.id(), entry);
+            byAge.add(entry);
+            bytes += added;
+        }
+
+        // Callers hold the write lock
+        void unindex(Entry entry) {
+            long[] grams = titleGrams(entry.normalized());
+            long removed = entry.estimatedBytes(grams.length);
+            for (long gram : grams) {
+                Postings list = postings.get(gram);
+                if (list != null && list.remove(entry.id()) && list.size == 0) {
+                    postings.remove(gram);
+                    removed += POSTINGS_OVERHEAD_BYTES;
+                }
+            }
+            entries.remove(entry.id());
+            byAge.remove(entry);
+            bytes -= removed;
+        }
+    }
+
+    /**
+     * Unordered task ids in a growable array, 8 bytes per posting instead of a boxed set entry.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
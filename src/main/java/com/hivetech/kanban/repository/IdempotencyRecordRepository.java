@@ -0,0 +1,69 @@
+package com.hivetech.kanban.repository;
+
+import com.hivetech.kanban.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecord.Key> {
+
+    /**
+     * Claims a key for a new request. An existing row is only taken over once it has expired,
+     * which covers both stale responses and claims abandoned by a crashed node.
+     *
+     * @return 1 if the key was claimed, 0 if it is held by another request or has a response
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_keys (owner, idempotency_key, fingerprint, created_at, expires_at)
+            VALUES (:owner, :key, :fingerprint, :now, :lockedUntil)
+            ON CONFLICT (owner, idempotency_key) DO UPDATE
+            SET fingerprint = EXCLUDED.fingerprint,
+                response_status = NULL,
+                response_content_type = NULL,
+                response_body = NULL,
+                created_at = EXCLUDED.created_at,
+                expires_at = EXCLUDED.expires_at
+            WHERE idempotency_keys.expires_at < EXCLUDED.created_at
+            """, nativeQuery = true)
+    int claim(@Param("owner") String owner,
+              @Param("key") String key,
+              @Param("fingerprint") String fingerprint,
+              @Param("now") LocalDateTime now,
+              @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Modifying
+    @Query(value = """
+            UPDATE idempotency_keys
+            SET response_status = :status,
+                response_content_type = :contentType,
+                response_body = :body,
+                expires_at = :expiresAt
+            WHERE owner = :owner AND idempotency_key = :key
+              AND fingerprint = :fingerprint AND response_status IS NULL
+            """, nativeQuery = true)
+    int complete(@Param("owner") String owner,
+                 @Param("key") String key,
+                 @Param("fingerprint") String fingerprint,
+                 @Param("status") int status,
+                 @Param("contentType") String contentType,
+                 @Param("body") byte[] body,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM idempotency_keys
+            WHERE owner = :owner AND idempotency_key = :key
+              AND fingerprint = :fingerprint AND response_status IS NULL
+            """, nativeQuery = true)
+    int release(@Param("owner") String owner, @Param("key") String key, @Param("fingerprint") String fingerprint);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,29 @@
+package com.hivetech.kanban.repository;
+
+import com.hivetech.kanban.entity.TaskCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskCounterRepository extends JpaRepository<TaskCounter, TaskCounter.Key> {
+
+    /**
+     * Moves the committed deltas into task_counters in one statement, so concurrent readers of the
+     * totals see them either as deltas or as folded counts. Deltas of running transactions stay behind.
+     */
+    @Modifying
+    @Query(value = """
+            WITH folded AS (
+                DELETE FROM task_counter_deltas RETURNING status, priority, delta
+            ), sums AS (
+                SELECT status, priority, SUM(delta) AS delta FROM folded GROUP BY status, priority
+            )
+            UPDATE task_counters c
+            SET task_count = c.task_count + s.delta
+            FROM sums s
+            WHERE c.status = s.status AND c.priority = s.priority
+            """, nativeQuery = true)
+    int foldDeltas();
+}
@@ -0,0 +1,63 @@
+package com.hivetech.kanban.repository;
+
+import com.hivetech.kanban.entity.TaskEventRecord;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskEventRecordRepository extends JpaRepository<TaskEventRecord, Long> {
+
+    /**
+     * Locks the oldest undispatched events. Callers hold the publication lock, so this never
+     * competes with another relay; locked rows are still skipped rather than waited for.
+     */
+    @Query(value = """
+            SELECT * FROM task_events
+            WHERE published_at IS NULL
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<TaskEventRecord> lockUnpublished(@Param("limit") int limit);
+
+    @Query("SELECT e.id FROM TaskEventRecord e WHERE e.publishSequence IS NULL")
+    List<Long> findUnpublishedIds();
+
+    /**
+     * Serializes publication across relays and nodes until the calling transaction ends, so publish
+     * sequences are assigned and committed in the same order.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:key)", nativeQuery = true)
+    int lockPublication(@Param("key") long key);
+
+    @Query(value = "SELECT nextval('task_events_publish_seq') FROM generate_series(1, :count)", nativeQuery = true)
+    List<Long> nextPublishSequences(@Param("count") int count);
+
+    List<TaskEventRecord> findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(Long publishSequence, Limit limit);
+
+    @Query("SELECT MAX(e.publishSequence) FROM TaskEventRecord e")
+    Optional<Long> findMaxPublishSequence();
+
+    /**
+     * Compacts the log: a published event is dropped once a newer event exists for the same task.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM task_events e
+            WHERE e.published_at IS NOT NULL
+              AND EXISTS (SELECT 1 FROM task_events n WHERE n.task_id = e.task_id AND n.id > e.id)
+            """, nativeQuery = true)
+    int deleteSuperseded();
+
+    @Modifying
+    @Query("DELETE FROM TaskEventRecord e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
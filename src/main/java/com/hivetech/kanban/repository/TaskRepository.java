@@ -1,15 +1,150 @@
 package com.hivetech.kanban.repository;
 
 import com.hivetech.kanban.entity.Task;
+import com.hivetech.kanban.enums.Priority;
 import com.hivetech.kanban.enums.Status;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Queries declared here run read-only, so outside a read-write transaction they may be served by a replica;
+// callers that must not see replica lag (read model loads and reconciles) wrap them in one
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+@Transactional(readOnly = true)
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskSliceRepository {
 
     Page<Task> findByStatus(Status status, Pageable pageable);
+
+    // Slices read one row beyond the page instead of counting
+    Slice<Task> findSliceByStatus(Status status, Pageable pageable);
+
+    @Query("SELECT t FROM Task t")
+    Slice<Task> findAllAsSlice(Pageable pageable);
+
+    /**
+     * The newest tasks of every status column, one indexed LIMIT per status (idx_tasks_status_created_at_id).
+     */
+    @Query(value = """
+            (SELECT * FROM tasks WHERE status = 'TO_DO' ORDER BY created_at DESC, id DESC LIMIT :limit)
+            UNION ALL
+            (SELECT * FROM tasks WHERE status = 'IN_PROGRESS' ORDER BY created_at DESC, id DESC LIMIT :limit)
+            UNION ALL
+            (SELECT * FROM tasks WHERE status = 'DONE' ORDER BY created_at DESC, id DESC LIMIT :limit)
+            """, nativeQuery = true)
+    List<Task> findNewestPerStatus(@Param("limit") int limit);
+
+    /**
+     * Planner estimate of the number of rows in tasks, Postgres only.
+     */
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = CAST('tasks' AS regclass)", nativeQuery = true)
+    Long estimateCount();
+
+    /**
+     * Full-text search over search_vector (V5), best match first, after the (rank, id) keyset position when given.
+     * The GIN index finds the matches; highlights are only built for the page since ts_headline re-parses the text.
+     * The text is HTML-escaped (V12) before highlighting, so the <mark></mark> tags are the only markup in
+     * titleHighlight and snippet and both are safe to render as HTML.
+     */
+    @Query(value = """
+            WITH query AS (
+                SELECT websearch_to_tsquery('english', :q) AS tsquery
+            ), page AS (
+                SELECT t.id, t.title, t.description, ts_rank_cd(t.search_vector, query.tsquery) AS rank
+                FROM tasks t, query
+                WHERE t.search_vector @@ query.tsquery
+                  AND (CAST(:status AS VARCHAR) IS NULL OR t.status = CAST(:status AS VARCHAR))
+                  AND (CAST(:priority AS VARCHAR) IS NULL OR t.priority = CAST(:priority AS VARCHAR))
+                  AND (CAST(:afterRank AS REAL) IS NULL
+                       OR (ts_rank_cd(t.search_vector, query.tsquery), t.id) < (CAST(:afterRank AS REAL), CAST(:afterId AS BIGINT)))
+                ORDER BY rank DESC, t.id DESC
+                LIMIT :limit
+            )
+            SELECT page.id AS "id",
+                   page.rank AS "rank",
+                   ts_headline('english', html_escape(page.title), query.tsquery,
+                               'StartSel=<mark>, StopSel=</mark>, HighlightAll=true') AS "titleHighlight",
+                   ts_headline('english', html_escape(coalesce(page.description, '')), query.tsquery,
+                               'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=20, MinWords=5') AS "snippet"
+            FROM page, query
+            ORDER BY page.rank DESC, page.id DESC
+            """, nativeQuery = true)
+    List<SearchHit> search(@Param("q") String query,
+                           @Param("status") String status,
+                           @Param("priority") String priority,
+                           @Param("afterRank") Float afterRank,
+                           @Param("afterId") Long afterId,
+                           @Param("limit") int limit);
+
+    @Query("SELECT t.status AS status, COUNT(t) AS count FROM Task t GROUP BY t.status")
+    List<StatusCount> countByStatus();
+
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("SELECT t.id AS id, t.version AS version FROM Task t WHERE t.id > :id ORDER BY t.id")
+    List<TaskVersionView> findVersionsAfter(@Param("id") Long id, Limit limit);
+
+    @Query("SELECT t.id AS id, t.title AS title, t.status AS status, t.priority AS priority, t.version AS version, "
+            + "t.createdAt AS createdAt FROM Task t WHERE t.id > :id ORDER BY t.id")
+    List<TaskTitleView> findTitlesAfter(@Param("id") Long id, Limit limit);
+
+    @Query("SELECT t.status FROM Task t WHERE t.id = :id")
+    Optional<Status> findStatusById(@Param("id") Long id);
+
+    @Query("SELECT t.id AS id, t.status AS status FROM Task t WHERE t.id IN :ids")
+    List<TaskStatusView> findStatusesByIds(@Param("ids") Collection<Long> ids);
+
+    interface StatusCount {
+        Status getStatus();
+
+        Long getCount();
+    }
+
+    interface TaskVersionView {
+        Long getId();
+
+        Long getVersion();
+    }
+
+    interface SearchHit {
+        Long getId();
+
+        Float getRank();
+
+        String getTitleHighlight();
+
+        String getSnippet();
+    }
+
+    interface TaskTitleView {
+        Long getId();
+
+        String getTitle();
+
+        Status getStatus();
+
+        Priority getPriority();
+
+        Long getVersion();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    interface TaskStatusView {
+        Long getId();
+
+        Status getStatus();
+    }
 }
 
@@ -0,0 +1,15 @@
+package com.hivetech.kanban.repository;
+
+import com.hivetech.kanban.entity.Task;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtered slices: like {@link org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(Specification, Pageable)},
+ * but one row beyond the page is read instead of counting all matches.
+ */
+public interface TaskSliceRepository {
+
+    Slice<Task> findSlice(Specification<Task> specification, Pageable pageable);
+}
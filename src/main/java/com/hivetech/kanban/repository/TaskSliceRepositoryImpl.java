@@ -0,0 +1,45 @@
+package com.hivetech.kanban.repository;
+
+import com.hivetech.kanban.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class TaskSliceRepositoryImpl implements TaskSliceRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Slice<Task> findSlice(Specification<Task> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> root = query.from(Task.class);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Task> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        }
+        List<Task> tasks = typedQuery.getResultList();
+
+        boolean hasNext = pageable.isPaged() && tasks.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? tasks.subList(0, pageable.getPageSize()) : tasks, pageable, hasNext);
+    }
+}
@@ -0,0 +1,59 @@
+package com.hivetech.kanban.repository;
+
+import com.hivetech.kanban.dto.TaskFilter;
+import com.hivetech.kanban.entity.Task;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Task list filters as JPA criteria. Every value is bound as a parameter, and each predicate is shaped
+ * to match an index: status and priority on their (composite) indexes, date ranges on created_at and
+ * updated_at, and title on the trigram index over lower(title), see V6 and V7.
+ */
+public final class TaskSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(TaskFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+                predicates.add(root.get("status").in(filter.getStatus()));
+            }
+            if (filter.getPriority() != null && !filter.getPriority().isEmpty()) {
+                predicates.add(root.get("priority").in(filter.getPriority()));
+            }
+            if (filter.getCreatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getCreatedFrom()));
+            }
+            if (filter.getCreatedTo() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), filter.getCreatedTo()));
+            }
+            if (filter.getUpdatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("updatedAt"), filter.getUpdatedFrom()));
+            }
+            if (filter.getUpdatedTo() != null) {
+                predicates.add(cb.lessThan(root.get("updatedAt"), filter.getUpdatedTo()));
+            }
+            if (filter.getTitle() != null) {
+                predicates.add(cb.like(cb.lower(root.get("title")), containsPattern(filter.getTitle()), LIKE_ESCAPE));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    static String containsPattern(String text) {
+        String escaped = text.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
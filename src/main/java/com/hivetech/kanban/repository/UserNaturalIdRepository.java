@@ -0,0 +1,13 @@
+package com.hivetech.kanban.repository;
+
+import com.hivetech.kanban.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Lookups by the username natural id, which go through the natural-id cache instead of a query.
+ */
+public interface UserNaturalIdRepository {
+
+    Optional<User> findByUsername(String username);
+}
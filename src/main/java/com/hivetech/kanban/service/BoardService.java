@@ -0,0 +1,256 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.dto.BoardResponse;
+import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.entity.Task;
+import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.event.TaskEventSink;
+import com.hivetech.kanban.mapper.TaskMapper;
+import com.hivetech.kanban.readmodel.TaskReadModel;
+import com.hivetech.kanban.repository.TaskEventRecordRepository;
+import com.hivetech.kanban.repository.TaskRepository;
+import com.hivetech.kanban.websocket.TaskEvent;
+import com.hivetech.kanban.websocket.TaskEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Board view: the newest tasks of every status column plus per-column counts.
+ *
+ * The board is loaded with one UNION ALL query (an indexed LIMIT per status) and one GROUP BY count,
+ * then held as a single in-memory entry that committed task events update in place. Events carry the
+ * previous status, so a task moving between columns adjusts both columns without touching the database.
+ *
+ * Each column keeps twice as many tasks as it serves, so tasks leaving a column can be backfilled from
+ * memory. When an event cannot be applied exactly (the spare tasks run out, or the previous status of
+ * a task is unknown) the entry is dropped and the next read reloads it. It is also dropped on a fixed
+ * interval, which bounds any drift left by redelivered events.
+ *
+ * Events already contained in the loaded state are skipped: those published before the load (publish
+ * sequence up to the loaded maximum) and those committed but still unpublished at load time, whose outbox
+ * ids are read in the same snapshot. Outbox ids alone cannot tell, since a lower id may commit later.
+ *
+ * When the in-memory {@link TaskReadModel} is enabled and loaded, the board is served from it instead.
+ */
+@Service
+@Slf4j
+public class BoardService implements TaskEventSink {
+
+    private static final Comparator<TaskResponse> NEWEST_FIRST = Comparator
+            .comparing(TaskResponse::getCreatedAt)
+            .thenComparing(TaskResponse::getId)
+            .reversed();
+
+    private final TaskRepository taskRepository;
+    private final TaskEventRecordRepository eventRepository;
+    private final TaskMapper taskMapper;
+    private final TaskReadModel readModel;
+    private final TransactionTemplate transactionTemplate;
+    private final int columnSize;
+
+    private final Object lock = new Object();
+    private Board board; // guarded by lock
+    private volatile BoardResponse snapshot;
+
+    public BoardService(
+            TaskRepository taskRepository,
+            TaskEventRecordRepository eventRepository,
+            TaskMapper taskMapper,
+            TaskReadModel readModel,
+            PlatformTransactionManager transactionManager,
+            @Value("${board.column-size:50}") int columnSize) {
+        this.taskRepository = taskRepository;
+        this.eventRepository = eventRepository;
+        this.taskMapper = taskMapper;
+        this.readModel = readModel;
+        this.columnSize = columnSize;
+
+        // Tasks, counts and the event watermarks must come from the same snapshot. It is read-write so it
+        // is taken on the primary: events already delivered could be missing from a lagging replica
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    public BoardResponse getBoard() {
+        if (readModel.isServing()) {
+            return readModel.getBoard(columnSize);
+        }
+
+        BoardResponse current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (lock) {
+            if (board == null) {
+                board = load();
+                snapshot = board.toResponse();
+            }
+            return snapshot;
+        }
+    }
+
+    @Override
+    public void onTaskEvent(TaskEvent event) {
+        synchronized (lock) {
+            if (board == null) {
+                return;
+            }
+            if (board.apply(event)) {
+                snapshot = board.toResponse();
+            } else {
+                log.debug("Board cannot apply task event {} in place, reloading on next read", event.getEventId());
+                invalidate();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${board.refresh-interval-ms:300000}")
+    public void refresh() {
+        synchronized (lock) {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        board = null;
+        snapshot = null;
+    }
+
+    private Board load() {
+        return transactionTemplate.execute(status -> {
+            Board loaded = new Board(eventRepository.findMaxPublishSequence().orElse(0L),
+                    new HashSet<>(eventRepository.findUnpublishedIds()));
+            taskRepository.countByStatus()
+                    .forEach(count -> loaded.counts.put(count.getStatus(), count.getCount()));
+            for (Task task : taskRepository.findNewestPerStatus(columnSize * 2)) {
+                loaded.columns.get(task.getStatus()).add(taskMapper.toResponse(task));
+            }
+            loaded.columns.values().forEach(column -> column.sort(NEWEST_FIRST));
+
+            log.debug("Loaded board with counts {}", loaded.counts);
+            return loaded;
+        });
+    }
+
+    private final class Board {
+
+        // Events published up to this sequence, and the unpublished events, are already reflected in the loaded state
+        private final long watermark;
+        private final Set<Long> unpublishedEventIds;
+        private final Map<Status, Long> counts = new EnumMap<>(Status.class);
+        private final Map<Status, List<TaskResponse>> columns = new EnumMap<>(Status.class);
+
+        private Board(long watermark, Set<Long> unpublishedEventIds) {
+            this.watermark = watermark;
+            this.unpublishedEventIds = unpublishedEventIds;
+            for (Status status : Status.values()) {
+                counts.put(status, 0L);
+                columns.put(status, new ArrayList<>());
+            }
+        }
+
+        /**
+         * @return false if the event could not be applied exactly and the board must be reloaded
+         */
+        boolean apply(TaskEvent event) {
+            if (event.getSequence() != null && event.getSequence() <= watermark) {
+                return true;
+            }
+            if (event.getEventId() != null && unpublishedEventIds.remove(event.getEventId())) {
+                return true;
+            }
+
+            TaskResponse task = event.getType() == TaskEventType.DELETED ? null : event.getTask();
+            Long taskId = event.getTask() != null ? event.getTask().getId() : event.getTaskId();
+            TaskResponse current = find(taskId);
+
+            if (event.getType() == TaskEventType.CREATED && current != null) {
+                return true;
+            }
+            if (task != null && current != null && task.getVersion() <= current.getVersion()) {
+                return true;
+            }
+
+            Status previous = null;
+            if (event.getType() != TaskEventType.CREATED) {
+                previous = event.getPreviousStatus() != null ? event.getPreviousStatus()
+                        : current != null ? current.getStatus() : null;
+                if (previous == null || (current != null && current.getStatus() != previous)) {
+                    return false;
+                }
+                columns.get(previous).removeIf(candidate -> candidate.getId().equals(taskId));
+                counts.merge(previous, -1L, Long::sum);
+            }
+            if (task != null) {
+                counts.merge(task.getStatus(), 1L, Long::sum);
+                insert(task);
+            }
+
+            return isComplete();
+        }
+
+        private void insert(TaskResponse task) {
+            List<TaskResponse> column = columns.get(task.getStatus());
+            int position = 0;
+            while (position < column.size() && NEWEST_FIRST.compare(column.get(position), task) < 0) {
+                position++;
+            }
+            // Past the end, the task only belongs in the list if the list holds the whole column
+            if (position == column.size() && column.size() + 1 < counts.get(task.getStatus())) {
+                return;
+            }
+            column.add(position, task);
+            if (column.size() > columnSize * 2) {
+                column.remove(column.size() - 1);
+            }
+        }
+
+        private TaskResponse find(Long taskId) {
+            for (List<TaskResponse> column : columns.values()) {
+                for (TaskResponse task : column) {
+                    if (task.getId().equals(taskId)) {
+                        return task;
+                    }
+                }
+            }
+            return null;
+        }
+
+        // Every column must still hold as many tasks as it serves
+        private boolean isComplete() {
+            for (Status status : Status.values()) {
+                long count = counts.get(status);
+                if (count < 0 || columns.get(status).size() < Math.min(count, columnSize)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        BoardResponse toResponse() {
+            List<BoardResponse.Column> result = new ArrayList<>();
+            for (Status status : Status.values()) {
+                List<TaskResponse> column = columns.get(status);
+                result.add(BoardResponse.Column.builder()
+                        .status(status)
+                        .count(counts.get(status))
+                        .tasks(List.copyOf(column.subList(0, Math.min(column.size(), columnSize))))
+                        .build());
+            }
+            return BoardResponse.builder().columns(List.copyOf(result)).build();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.OptionalLong;
+
+/**
+ * Row count of the tasks table from the Postgres planner statistics (pg_class.reltuples), kept
+ * current by autovacuum/ANALYZE. Reading it is a catalog lookup instead of a scan of the table.
+ *
+ * Only large tables are estimated: below the threshold an exact count is cheap and preferred.
+ * Whether the database has planner statistics is decided once at startup from its product name;
+ * other databases (H2 in tests) always get exact counts. A failed lookup falls back to an exact
+ * count for that request only.
+ */
+@Component
+@Slf4j
+public class TaskCountEstimator {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final TaskRepository taskRepository;
+    private final boolean supported;
+    private final long threshold;
+
+    public TaskCountEstimator(
+            TaskRepository taskRepository,
+            DataSource dataSource,
+            @Value("${pagination.estimate-threshold:100000}") long threshold) {
+        this.taskRepository = taskRepository;
+        this.supported = hasPlannerStatistics(dataSource);
+        this.threshold = threshold;
+    }
+
+    /**
+     * The estimated number of tasks, or empty when the table should be counted exactly.
+     */
+    public OptionalLong estimateTaskCount() {
+        if (!supported) {
+            return OptionalLong.empty();
+        }
+
+        Long estimate;
+        try {
+            estimate = taskRepository.estimateCount();
+        } catch (DataAccessException e) {
+            log.warn("Planner row estimate failed, counting tasks exactly: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+
+        // -1 until the table has been vacuumed or analyzed for the first time
+        return estimate != null && estimate >= threshold ? OptionalLong.of(estimate) : OptionalLong.empty();
+    }
+
+    private static boolean hasPlannerStatistics(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            if (!POSTGRESQL.equals(product)) {
+                log.info("No planner row estimates on {}, task counts stay exact", product);
+                return false;
+            }
+            return true;
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not determine the database product, task counts stay exact: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.dto.TaskSearchResponse;
+import com.hivetech.kanban.enums.Priority;
+import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.exception.BadRequestException;
+import com.hivetech.kanban.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Full-text search over task titles and descriptions (Postgres websearch syntax: words, "phrases", -exclusions, or).
+ *
+ * Results are ordered by rank, then id, and paged with an opaque cursor holding the last (rank, id)
+ * pair, so deep pages cost the same as the first. The tasks themselves come from the task cache or
+ * read model where possible, the search query only returns ids, ranks and highlights.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskSearchService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_QUERY_LENGTH = 200;
+
+    private final TaskRepository taskRepository;
+    private final TaskService taskService;
+
+    public TaskSearchResponse search(String query, Status status, Priority priority, String after, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Cursor cursor = after != null ? Cursor.decode(after) : null;
+
+        // One row beyond the page tells whether there is a next one
+        List<TaskRepository.SearchHit> rows = taskRepository.search(query,
+                status != null ? status.name() : null,
+                priority != null ? priority.name() : null,
+                cursor != null ? cursor.rank() : null,
+                cursor != null ? cursor.id() : null,
+                size + 1);
+        boolean hasNext = rows.size() > size;
+        List<TaskRepository.SearchHit> page = hasNext ? rows.subList(0, size) : rows;
+
+        Map<Long, TaskResponse> tasks = taskService.getTasksByIds(page.stream().map(TaskRepository.SearchHit::getId).toList());
+        List<TaskSearchResponse.Hit> hits = new ArrayList<>(page.size());
+        for (TaskRepository.SearchHit row : page) {
+            TaskResponse task = tasks.get(row.getId());
+            // Deleted between the two reads
+            if (task != null) {
+                hits.add(TaskSearchResponse.Hit.builder()
+                        .task(task)
+                        .rank(row.getRank())
+                        .titleHighlight(row.getTitleHighlight())
+                        .snippet(row.getSnippet())
+                        .build());
+            }
+        }
+
+        TaskRepository.SearchHit last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return TaskSearchResponse.builder()
+                .hits(hits)
+                .nextCursor(hasNext ? new Cursor(last.getRank(), last.getId()).encode() : null)
+                .build();
+    }
+
+    record Cursor(float rank, long id) {
+
+        String encode() {
+            // Float.toString round-trips exactly, the keyset comparison in the database relies on it
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((rank + ":" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String value) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split(":");
+                return new Cursor(Float.parseFloat(parts[0]), Long.parseLong(parts[1]));
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new BadRequestException("Invalid search cursor");
+            }
+        }
+    }
+}
@@ -3,34 +3,101 @@ package com.hivetech.kanban.service;
 import com.hivetech.kanban.dto.*;
 import com.hivetech.kanban.entity.Task;
 import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.exception.BadRequestException;
 import com.hivetech.kanban.exception.ResourceNotFoundException;
 import com.hivetech.kanban.exception.OptimisticLockException;
+import com.hivetech.kanban.exception.ResourceAlreadyExistsException;
 import com.hivetech.kanban.config.CacheConfig;
+import com.hivetech.kanban.event.TaskEventOutbox;
 import com.hivetech.kanban.mapper.TaskMapper;
+import com.hivetech.kanban.readmodel.TaskReadModel;
 import com.hivetech.kanban.repository.TaskRepository;
-import com.hivetech.kanban.websocket.TaskWebSocketService;
+import com.hivetech.kanban.repository.TaskSpecifications;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TaskService {
 
+    /** Upper bound for the number of items in one batch operation. */
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private static final String TASKS_PRIMARY_KEY = "tasks_pkey";
+    private static final int MAX_CREATE_ATTEMPTS = 3;
+
+    private static final String VERSION_CONFLICT_MESSAGE =
+            "Task has been modified by another user. Please refresh and try again.";
+
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
-    private final TaskWebSocketService webSocketService;
+    private final TaskEventOutbox eventOutbox;
+    private final CacheManager cacheManager;
+    private final Validator validator;
+    private final TaskReadModel readModel;
+    private final TaskCountEstimator countEstimator;
+    private final PlatformTransactionManager transactionManager;
+
+    // Reads are not wrapped in a transaction, so those served by the read model never take a connection
 
-    @Transactional(readOnly = true)
-    @Cacheable(value = CacheConfig.TASKS_CACHE, key = "#status + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Cacheable(value = CacheConfig.TASKS_CACHE, key = "#status + '_' + #pageable.pageNumber + '_' + #pageable.pageSize + '_' + #pageable.sort",
+            condition = "!@taskReadModel.serving")
     public Page<TaskResponse> getAllTasks(Status status, Pageable pageable) {
+        return findTasks(status, pageable);
+    }
+
+    /**
+     * Tasks matching all criteria of the filter. Filters on a single status at most take the same path as
+     * {@link #getAllTasks(Status, Pageable)}, including the read model; others run as one criteria query.
+     */
+    @Cacheable(value = CacheConfig.TASKS_CACHE, key = "'filter_' + #filter.cacheKey() + '_' + #pageable.pageNumber + '_' + #pageable.pageSize + '_' + #pageable.sort",
+            condition = "!@taskReadModel.serving")
+    public Page<TaskResponse> getFilteredTasks(TaskFilter filter, Pageable pageable) {
+        if (filter.isStatusOnly()) {
+            return findTasks(filter.singleStatus(), pageable);
+        }
+        return taskRepository.findAll(TaskSpecifications.matching(filter), pageable).map(taskMapper::toResponse);
+    }
+
+    private Page<TaskResponse> findTasks(Status status, Pageable pageable) {
+        if (readModel.isServing()) {
+            Page<TaskResponse> page = readModel.findAll(status, pageable);
+            if (page != null) {
+                return page;
+            }
+        }
+
         Page<Task> tasks;
         if (status != null) {
             tasks = taskRepository.findByStatus(status, pageable);
@@ -40,23 +107,118 @@ public class TaskService {
         return tasks.map(taskMapper::toResponse);
     }
 
-    @Transactional(readOnly = true)
-    @Cacheable(value = CacheConfig.TASK_CACHE, key = "#id")
+    /**
+     * Unfiltered listing whose total is the planner's row estimate instead of a COUNT(*) over all tasks.
+     * Empty when an exact count is cheap anyway: small tables, no planner statistics, or a serving read model.
+     */
+    public Optional<Page<TaskResponse>> getAllTasksWithEstimatedCount(Pageable pageable) {
+        if (readModel.isServing()) {
+            return Optional.empty();
+        }
+        OptionalLong estimate = countEstimator.estimateTaskCount();
+        if (estimate.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Slice<TaskResponse> tasks = taskRepository.findAllAsSlice(pageable).map(taskMapper::toResponse);
+        // Statistics trail recent inserts, the total never claims fewer tasks than this page has seen
+        long seen = pageable.getOffset() + tasks.getNumberOfElements() + (tasks.hasNext() ? 1 : 0);
+        return Optional.of(new PageImpl<>(tasks.getContent(), pageable, Math.max(estimate.getAsLong(), seen)));
+    }
+
+    /**
+     * Like {@link #getAllTasks} without the count query: one row beyond the page tells whether a next page exists.
+     */
+    @Cacheable(value = CacheConfig.TASKS_CACHE, key = "'slice_' + #filter.cacheKey() + '_' + #pageable.pageNumber + '_' + #pageable.pageSize + '_' + #pageable.sort",
+            condition = "!@taskReadModel.serving")
+    public Slice<TaskResponse> getTaskSlice(TaskFilter filter, Pageable pageable) {
+        if (!filter.isStatusOnly()) {
+            return taskRepository.findSlice(TaskSpecifications.matching(filter), pageable).map(taskMapper::toResponse);
+        }
+
+        Status status = filter.singleStatus();
+        if (readModel.isServing()) {
+            Page<TaskResponse> page = readModel.findAll(status, pageable);
+            if (page != null) {
+                return new SliceImpl<>(page.getContent(), pageable, page.hasNext());
+            }
+        }
+
+        Slice<Task> tasks = status != null
+                ? taskRepository.findSliceByStatus(status, pageable)
+                : taskRepository.findAllAsSlice(pageable);
+        return tasks.map(taskMapper::toResponse);
+    }
+
+    @Cacheable(value = CacheConfig.TASK_CACHE, key = "#id", condition = "!@taskReadModel.serving")
     public TaskResponse getTaskById(Long id) {
+        // A miss can be a task created on another node whose event has not arrived yet
+        TaskResponse held = readModel.isServing() ? readModel.findById(id) : null;
+        if (held != null) {
+            return held;
+        }
+
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
         
         return taskMapper.toResponse(task);
     }
 
+    /**
+     * Look up several tasks at once: hits come from the read model or the task cache, all misses are
+     * loaded with a single IN query and cached. Ids that do not exist are absent from the result.
+     */
+    public Map<Long, TaskResponse> getTasksByIds(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.TASK_CACHE);
+        Map<Long, TaskResponse> tasks = new HashMap<>();
+        Set<Long> misses = new HashSet<>();
+
+        for (Long id : ids) {
+            TaskResponse cached = readModel.isServing() ? readModel.findById(id) : null;
+            if (cached == null && cache != null) {
+                cached = cache.get(id, TaskResponse.class);
+            }
+            if (cached != null) {
+                tasks.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (Task task : taskRepository.findAllById(misses)) {
+                TaskResponse response = taskMapper.toResponse(task);
+                tasks.put(task.getId(), response);
+                if (cache != null) {
+                    cache.put(task.getId(), response);
+                }
+            }
+        }
+        return tasks;
+    }
+
     @Transactional
     @CacheEvict(value = CacheConfig.TASKS_CACHE, allEntries = true)
     public TaskResponse createTask(TaskRequest request) {
+        Long id = request.getId();
+        if (id != null && taskRepository.existsById(id)) {
+            throw taskAlreadyExists(id);
+        }
+
         Task task = taskMapper.toEntity(request);
-        Task savedTask = taskRepository.save(task);
+        Task savedTask;
+        try {
+            savedTask = taskRepository.saveAllAndFlush(List.of(task)).get(0);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent create under the same client-assigned id committed first
+            if (id != null && violatesTaskPrimaryKey(e)) {
+                throw taskAlreadyExists(id);
+            }
+            throw e;
+        }
         
         TaskResponse response = taskMapper.toResponse(savedTask);
-        webSocketService.notifyTaskCreated(response);
+        eventOutbox.recordTaskCreated(response);
         
         log.info("Created task with id: {}", savedTask.getId());
         return response;
@@ -73,12 +235,13 @@ public class TaskService {
             throw new OptimisticLockException("Task has been modified by another user. Please refresh and try again.");
         }
         
+        Status previousStatus = task.getStatus();
         try {
             taskMapper.updateEntity(task, request);
             Task savedTask = taskRepository.saveAndFlush(task);
             
             TaskResponse response = taskMapper.toResponse(savedTask);
-            webSocketService.notifyTaskUpdated(response);
+            eventOutbox.recordTaskUpdated(response, previousStatus);
             
             log.info("Updated task with id: {}", savedTask.getId());
             return response;
@@ -93,11 +256,12 @@ public class TaskService {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
         
+        Status previousStatus = task.getStatus();
         taskMapper.patchEntity(task, request);
         Task savedTask = taskRepository.saveAndFlush(task);
         
         TaskResponse response = taskMapper.toResponse(savedTask);
-        webSocketService.notifyTaskUpdated(response);
+        eventOutbox.recordTaskUpdated(response, previousStatus);
         
         log.info("Patched task with id: {}", savedTask.getId());
         return response;
@@ -106,13 +270,202 @@ public class TaskService {
     @Transactional
     @CacheEvict(value = {CacheConfig.TASK_CACHE, CacheConfig.TASKS_CACHE}, allEntries = true)
     public void deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Task", "id", id);
-        }
+        Status previousStatus = taskRepository.findStatusById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
         
         taskRepository.deleteById(id);
-        webSocketService.notifyTaskDeleted(id);
+        eventOutbox.recordTaskDeleted(id, previousStatus);
         
         log.info("Deleted task with id: {}", id);
     }
+
+    // ==================== BATCH OPERATIONS ====================
+    // One transaction and one cache eviction per batch. Items that fail validation, do not exist
+    // or carry a stale version are reported in their result and skipped; the rest are written.
+
+    // Runs in its own transaction, which is retried when a client-assigned id was taken by a concurrent
+    // create: the insert fails on the primary key, and the next attempt reports the taken id per item
+    @CacheEvict(value = CacheConfig.TASKS_CACHE, allEntries = true)
+    public List<TaskBatchResult> createTasks(List<TaskRequest> requests) {
+        requireBatchSize(requests.size());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> createTasksOnce(requests));
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MAX_CREATE_ATTEMPTS || !violatesTaskPrimaryKey(e)) {
+                    throw e;
+                }
+                log.info("Task id of a batch create was taken concurrently, retrying");
+            }
+        }
+    }
+
+    private List<TaskBatchResult> createTasksOnce(List<TaskRequest> requests) {
+        TaskBatchResult[] results = new TaskBatchResult[requests.size()];
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+
+        Set<Long> existingIds = new HashSet<>();
+        List<Long> requestedIds = requests.stream().map(TaskRequest::getId).filter(Objects::nonNull).toList();
+        if (!requestedIds.isEmpty()) {
+            taskRepository.findStatusesByIds(requestedIds).forEach(task -> existingIds.add(task.getId()));
+        }
+        Set<Long> assignedIds = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            Long id = requests.get(i).getId();
+            String violations = validate(requests.get(i));
+            if (violations != null) {
+                results[i] = failed(id, TaskBatchResult.ErrorCode.VALIDATION_FAILED, violations);
+            } else if (id != null && existingIds.contains(id)) {
+                results[i] = failed(id, TaskBatchResult.ErrorCode.ALREADY_EXISTS, "Task with id '" + id + "' already exists");
+            } else if (id != null && !assignedIds.add(id)) {
+                results[i] = failed(id, TaskBatchResult.ErrorCode.VALIDATION_FAILED, "Task id is used more than once in the batch");
+            } else {
+                tasks.add(taskMapper.toEntity(requests.get(i)));
+                positions.add(i);
+            }
+        }
+
+        // Flushed right away: the timestamps of new tasks are only set by the INSERT
+        List<Task> savedTasks = taskRepository.saveAllAndFlush(tasks);
+        for (int i = 0; i < savedTasks.size(); i++) {
+            TaskResponse response = taskMapper.toResponse(savedTasks.get(i));
+            eventOutbox.recordTaskCreated(response);
+            results[positions.get(i)] = succeeded(response);
+        }
+
+        log.info("Created {} of {} tasks in batch", savedTasks.size(), requests.size());
+        return List.of(results);
+    }
+
+    @Transactional
+    @CacheEvict(value = {CacheConfig.TASK_CACHE, CacheConfig.TASKS_CACHE}, allEntries = true)
+    public List<TaskBatchResult> updateTasks(List<TaskBatchUpdateRequest> requests) {
+        requireBatchSize(requests.size());
+
+        Map<Long, Task> tasksById = new HashMap<>();
+        taskRepository.findAllById(requests.stream().map(TaskBatchUpdateRequest::getId).filter(Objects::nonNull).toList())
+                .forEach(task -> tasksById.put(task.getId(), task));
+
+        TaskBatchResult[] results = new TaskBatchResult[requests.size()];
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        List<Status> previousStatuses = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            Long id = requests.get(i).getId();
+            TaskUpdateRequest request = requests.get(i).getTask();
+            Task task = tasksById.get(id);
+
+            String violations = id == null ? "id: Id is required"
+                    : request == null ? "task: Task is required"
+                    : validate(request);
+            if (violations != null) {
+                results[i] = failed(id, TaskBatchResult.ErrorCode.VALIDATION_FAILED, violations);
+            } else if (!seen.add(id)) {
+                results[i] = failed(id, TaskBatchResult.ErrorCode.VALIDATION_FAILED, "Task is updated more than once in the batch");
+            } else if (task == null) {
+                results[i] = failed(id, TaskBatchResult.ErrorCode.NOT_FOUND, "Task not found with id: '" + id + "'");
+            } else if (!task.getVersion().equals(request.getVersion())) {
+                results[i] = failed(id, TaskBatchResult.ErrorCode.VERSION_CONFLICT, VERSION_CONFLICT_MESSAGE);
+            } else {
+                previousStatuses.add(task.getStatus());
+                taskMapper.updateEntity(task, request);
+                tasks.add(task);
+                positions.add(i);
+            }
+        }
+
+        // Concurrent changes between our read and the flush fail the whole batch
+        try {
+            taskRepository.saveAllAndFlush(tasks);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new OptimisticLockException(VERSION_CONFLICT_MESSAGE);
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskResponse response = taskMapper.toResponse(tasks.get(i));
+            eventOutbox.recordTaskUpdated(response, previousStatuses.get(i));
+            results[positions.get(i)] = succeeded(response);
+        }
+
+        log.info("Updated {} of {} tasks in batch", tasks.size(), requests.size());
+        return List.of(results);
+    }
+
+    @Transactional
+    @CacheEvict(value = {CacheConfig.TASK_CACHE, CacheConfig.TASKS_CACHE}, allEntries = true)
+    public List<TaskBatchResult> deleteTasks(List<Long> ids) {
+        requireBatchSize(ids.size());
+
+        Map<Long, Status> existing = new HashMap<>();
+        taskRepository.findStatusesByIds(ids).forEach(task -> existing.put(task.getId(), task.getStatus()));
+        taskRepository.deleteAllByIdInBatch(existing.keySet());
+
+        List<TaskBatchResult> results = new ArrayList<>(ids.size());
+        Set<Long> deleted = new HashSet<>();
+        for (Long id : ids) {
+            if (!existing.containsKey(id)) {
+                results.add(failed(id, TaskBatchResult.ErrorCode.NOT_FOUND, "Task not found with id: '" + id + "'"));
+            } else {
+                if (deleted.add(id)) {
+                    eventOutbox.recordTaskDeleted(id, existing.get(id));
+                }
+                results.add(TaskBatchResult.builder().id(id).build());
+            }
+        }
+
+        log.info("Deleted {} of {} tasks in batch", existing.size(), ids.size());
+        return results;
+    }
+
+    private void requireBatchSize(int size) {
+        if (size > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch size " + size + " exceeds the maximum of " + MAX_BATCH_SIZE);
+        }
+    }
+
+    private String validate(Object request) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static TaskBatchResult succeeded(TaskResponse response) {
+        return TaskBatchResult.builder()
+                .id(response.getId())
+                .task(response)
+                .build();
+    }
+
+    // Only a duplicate task id is a conflict, any other integrity violation is a server error
+    private static boolean violatesTaskPrimaryKey(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return TASKS_PRIMARY_KEY.equalsIgnoreCase(violation.getConstraintName());
+            }
+        }
+        return false;
+    }
+
+    private static ResourceAlreadyExistsException taskAlreadyExists(Long id) {
+        return new ResourceAlreadyExistsException("Task", "id", String.valueOf(id));
+    }
+
+    private static TaskBatchResult failed(Long id, TaskBatchResult.ErrorCode error, String message) {
+        return TaskBatchResult.builder()
+                .id(id)
+                .error(error)
+                .message(message)
+                .build();
+    }
 }
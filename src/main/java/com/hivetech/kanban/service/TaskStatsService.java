@@ -0,0 +1,80 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.config.CacheConfig;
+import com.hivetech.kanban.dto.TaskStatsResponse;
+import com.hivetech.kanban.entity.TaskCounter;
+import com.hivetech.kanban.enums.Priority;
+import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.event.TaskEventSink;
+import com.hivetech.kanban.repository.TaskCounterRepository;
+import com.hivetech.kanban.websocket.TaskEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Task counts by status and priority, read from the task_counter_totals view. Triggers append a delta
+ * row for every counted change in the writing transaction, which keeps the totals exact without
+ * writers locking shared counter rows. The deltas are folded into one row per combination on a
+ * schedule, so a read stays cheap whatever the number of tasks. The result is cached until the next
+ * committed task event.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskStatsService implements TaskEventSink {
+
+    private final TaskCounterRepository counterRepository;
+    private final CacheManager cacheManager;
+
+    @Cacheable(value = CacheConfig.TASK_STATS_CACHE, key = "'all'")
+    public TaskStatsResponse getStats() {
+        Map<Status, Map<Priority, Long>> byStatusAndPriority = new EnumMap<>(Status.class);
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        for (Status status : Status.values()) {
+            Map<Priority, Long> counts = new EnumMap<>(Priority.class);
+            for (Priority priority : Priority.values()) {
+                counts.put(priority, 0L);
+                byPriority.put(priority, 0L);
+            }
+            byStatusAndPriority.put(status, counts);
+            byStatus.put(status, 0L);
+        }
+
+        long total = 0;
+        for (TaskCounter counter : counterRepository.findAll()) {
+            byStatusAndPriority.get(counter.getStatus()).put(counter.getPriority(), counter.getTaskCount());
+            byStatus.merge(counter.getStatus(), counter.getTaskCount(), Long::sum);
+            byPriority.merge(counter.getPriority(), counter.getTaskCount(), Long::sum);
+            total += counter.getTaskCount();
+        }
+
+        return TaskStatsResponse.builder()
+                .total(total)
+                .byStatus(byStatus)
+                .byPriority(byPriority)
+                .byStatusAndPriority(byStatusAndPriority)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${stats.fold-interval-ms:60000}")
+    @Transactional
+    public void foldCounterDeltas() {
+        counterRepository.foldDeltas();
+    }
+
+    @Override
+    public void onTaskEvent(TaskEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.TASK_STATS_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.hivetech.kanban.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hivetech.kanban.entity.TaskEventRecord;
+import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.event.TaskEventSink;
+import com.hivetech.kanban.repository.TaskEventRecordRepository;
+import com.hivetech.kanban.websocket.TaskEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events feed of task changes.
+ *
+ * Subscribers are held as async servlet responses, so an idle subscriber costs no thread.
+ * Every event is serialized once and queued to the matching subscribers. Each subscriber drains
+ * its own queue on a small shared pool, one task at a time, so its events are written in the order
+ * they were published while different subscribers are served in parallel. The pool also sends the
+ * periodic heartbeat that keeps proxies from closing idle streams.
+ *
+ * Event ids are publish sequences. A reconnecting client passes the last one it saw in Last-Event-ID
+ * and gets the events published since then replayed from the task_events outbox, as far back as
+ * compaction and retention allow. The replay runs ahead of the live events queued for the subscriber,
+ * and live events it already covered are skipped. When the gap is too large to replay, or the id is
+ * unknown, the client gets a "reset" event instead and should reload the tasks before applying further
+ * events. Delivery is at-least-once, so clients should ignore event ids they have already applied.
+ */
+@Service
+@Slf4j
+public class TaskEventStreamService implements TaskEventSink {
+
+    static final int MAX_REPLAY_EVENTS = 1000;
+    static final String RESET_EVENT = "reset";
+    // Tasks a subscriber runs before handing the thread to the next one
+    private static final int DRAIN_BATCH_SIZE = 64;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final TaskEventRecordRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final ScheduledExecutorService executor;
+
+    public TaskEventStreamService(
+            TaskEventRecordRepository eventRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${sse.timeout-ms:1800000}") long timeoutMs,
+            @Value("${sse.heartbeat-interval-ms:15000}") long heartbeatIntervalMs,
+            @Value("${sse.threads:2}") int threads) {
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::sendHeartbeat,
+                heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("sse.subscribers", subscribers, Set::size)
+                .description("Open task event streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Set<Status> statuses, Long lastEventId) {
+        return subscribe(new SseEmitter(timeoutMs), statuses, lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Set<Status> statuses, Long lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, statuses == null ? Set.of() : Set.copyOf(statuses));
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Queue the replay before registering, so it runs ahead of every live event, and
+        // register before it reads the outbox, so nothing published in between is missed
+        if (lastEventId != null) {
+            subscriber.enqueue(() -> replay(subscriber, lastEventId));
+        }
+        subscribers.add(subscriber);
+        subscriber.start();
+
+        log.debug("Task event stream opened, {} subscribers", subscribers.size());
+        return emitter;
+    }
+
+    @Override
+    public void onTaskEvent(TaskEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        String data = serialize(event);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(event)) {
+                subscriber.enqueue(() -> sendLive(subscriber, event.getSequence(), data));
+            }
+        }
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        long latest = eventRepository.findMaxPublishSequence().orElse(0L);
+        if (lastEventId > latest) {
+            reset(subscriber, latest);
+            return;
+        }
+
+        List<TaskEventRecord> records = eventRepository.findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(
+                lastEventId, Limit.of(MAX_REPLAY_EVENTS + 1));
+        if (records.size() > MAX_REPLAY_EVENTS) {
+            reset(subscriber, records.get(records.size() - 1).getPublishSequence());
+            return;
+        }
+
+        for (TaskEventRecord record : records) {
+            try {
+                TaskEvent event = objectMapper.readValue(record.getPayload(), TaskEvent.class);
+                event.setEventId(record.getId());
+                event.setSequence(record.getPublishSequence());
+                if (subscriber.accepts(event) && !send(subscriber, event.getSequence(), serialize(event))) {
+                    return;
+                }
+            } catch (JsonProcessingException e) {
+                log.error("Could not replay task event {}", record.getId(), e);
+            }
+            // Sequences commit in order, so the replay holds every event up to the last one it read
+            subscriber.replayedUpTo = record.getPublishSequence();
+        }
+    }
+
+    /**
+     * Tells the client to reload instead of replaying. Everything up to the given sequence had been
+     * committed when it was read, so the reload covers it and only later events are sent on.
+     */
+    private void reset(Subscriber subscriber, long sequence) {
+        subscriber.replayedUpTo = sequence;
+        send(subscriber, SseEmitter.event()
+                .id(String.valueOf(sequence))
+                .name(RESET_EVENT)
+                .data("{}", MediaType.APPLICATION_JSON));
+    }
+
+    private void sendLive(Subscriber subscriber, Long sequence, String data) {
+        if (sequence != null && sequence <= subscriber.replayedUpTo) {
+            return;
+        }
+        send(subscriber, sequence, data);
+    }
+
+    private boolean send(Subscriber subscriber, Long sequence, String data) {
+        SseEmitter.SseEventBuilder sseEvent = SseEmitter.event();
+        if (sequence != null) {
+            sseEvent.id(String.valueOf(sequence));
+        }
+        return send(subscriber, sseEvent.data(data, MediaType.APPLICATION_JSON));
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder sseEvent) {
+        try {
+            subscriber.emitter().send(sseEvent);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the container completes the async request
+            subscribers.remove(subscriber);
+            subscriber.close();
+            return false;
+        }
+    }
+
+    private void sendHeartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(() -> send(subscriber, SseEmitter.event().comment("heartbeat")));
+        }
+    }
+
+    private String serialize(TaskEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task event", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        executor.shutdownNow();
+    }
+
+    /**
+     * A stream and its queue of pending writes, drained by at most one pool thread at a time.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<Status> statuses;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        // Held from creation until start(), so a queued replay cannot run before registration
+        private final AtomicBoolean draining = new AtomicBoolean(true);
+        private volatile boolean closed;
+
+        // Live events up to this sequence were covered by the replay or a reset; only touched by the drain
+        private long replayedUpTo;
+
+        private Subscriber(SseEmitter emitter, Set<Status> statuses) {
+            this.emitter = emitter;
+            this.statuses = statuses;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        boolean accepts(TaskEvent event) {
+            // Deletions carry no task body, so they go to every stream; a task leaving a watched status
+            // is still announced there, or the stream would keep showing it
+            return statuses.isEmpty() || event.getTask() == null || statuses.contains(event.getTask().getStatus())
+                    || event.getPreviousStatus() != null && statuses.contains(event.getPreviousStatus());
+        }
+
+        void enqueue(Runnable task) {
+            if (closed) {
+                return;
+            }
+            tasks.add(task);
+            if (draining.compareAndSet(false, true)) {
+                schedule();
+            }
+        }
+
+        void start() {
+            schedule();
+        }
+
+        void close() {
+            closed = true;
+            tasks.clear();
+        }
+
+        private void schedule() {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                close();
+            }
+        }
+
+        private void drain() {
+            for (int i = 0; i < DRAIN_BATCH_SIZE && !closed; i++) {
+                Runnable task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                task.run();
+            }
+
+            draining.set(false);
+            // Pick up what was queued after the last poll, or what is left after a full batch
+            if (!closed && !tasks.isEmpty() && draining.compareAndSet(false, true)) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.hivetech.kanban.validation;
+
+import com.hivetech.kanban.entity.Tsid;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class TaskIdValidator implements ConstraintValidator<ValidTaskId, Long> {
+
+    @Override
+    public boolean isValid(Long value, ConstraintValidatorContext context) {
+        return value == null || Tsid.isClientAssignable(value, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,23 @@
+package com.hivetech.kanban.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.*;
+
+/**
+ * A task id a client may assign itself: a TSID generated on the client node, see
+ * {@link com.hivetech.kanban.entity.Tsid}. Null is valid, the server then generates the id.
+ */
+@Documented
+@Constraint(validatedBy = TaskIdValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidTaskId {
+
+    String message() default "Id must be a TSID generated on the client node (15), not before 2025-01-04 and not in the future";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
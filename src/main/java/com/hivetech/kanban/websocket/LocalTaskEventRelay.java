@@ -0,0 +1,24 @@
+package com.hivetech.kanban.websocket;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Single-node relay - there are no other nodes, so nothing is published or received.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.relay.type", havingValue = "none", matchIfMissing = true)
+public class LocalTaskEventRelay implements TaskEventRelay {
+
+    @Override
+    public void publish(TaskEvent event) {
+        // Nothing to do on a single node
+    }
+
+    @Override
+    public void subscribe(Consumer<TaskEvent> listener) {
+        // No remote events will ever arrive
+    }
+}
@@ -0,0 +1,234 @@
+package com.hivetech.kanban.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hivetech.kanban.entity.TaskEventRecord;
+import com.hivetech.kanban.mapper.TaskMapper;
+import com.hivetech.kanban.repository.TaskEventRecordRepository;
+import com.hivetech.kanban.repository.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Relays task events between nodes through Postgres LISTEN/NOTIFY.
+ *
+ * Notifications are sent on the caller's connection, so an event published inside a transaction is
+ * only delivered to other nodes once that transaction commits. A failed NOTIFY is logged and rolled
+ * back to a savepoint, leaving that transaction usable. Each node keeps one dedicated connection
+ * outside the pool that LISTENs on the channel and hands remote events to the listeners.
+ *
+ * NOTIFY payloads are limited to 8000 bytes. Larger events are sent as a reference only and the
+ * receiving node reads the full event back from the task_events outbox, falling back to the task
+ * itself if the outbox row has already been compacted away.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.relay.type", havingValue = "postgres")
+@Slf4j
+public class PostgresTaskEventRelay implements TaskEventRelay {
+
+    static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long RECONNECT_DELAY_MS = 2000;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<TaskEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private final TaskEventRecordRepository eventRepository;
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final String channel;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresTaskEventRelay(
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            ObjectMapper objectMapper,
+            TaskEventRecordRepository eventRepository,
+            TaskRepository taskRepository,
+            TaskMapper taskMapper,
+            @Value("${cluster.relay.channel:kanban_task_events}") String channel) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid NOTIFY channel name: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+        this.eventRepository = eventRepository;
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.channel = channel;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "task-event-relay");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        listenerThread.join(RECONNECT_DELAY_MS);
+    }
+
+    @Override
+    public void publish(TaskEvent event) {
+        try {
+            String payload = encode(event);
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                sendNotification(connection, payload);
+                return null;
+            });
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.error("Failed to relay task event {} to other nodes", event.getEventId(), e);
+        }
+    }
+
+    // A failed statement aborts the caller's transaction, so inside one the NOTIFY is rolled back to a
+    // savepoint on failure and the outbox relay can still mark its batch published
+    private void sendNotification(Connection connection, String payload) throws SQLException {
+        Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, channel);
+            statement.setString(2, payload);
+            statement.execute();
+        } catch (SQLException e) {
+            if (savepoint != null) {
+                connection.rollback(savepoint);
+            }
+            throw e;
+        }
+        if (savepoint != null) {
+            connection.releaseSavepoint(savepoint);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<TaskEvent> listener) {
+        listeners.add(listener);
+    }
+
+    String encode(TaskEvent event) throws JsonProcessingException {
+        String payload = objectMapper.writeValueAsString(new RelayedTaskEvent(nodeId, false, event));
+        if (payload.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES) {
+            return payload;
+        }
+
+        TaskEvent reference = TaskEvent.builder()
+                .eventId(event.getEventId())
+                .sequence(event.getSequence())
+                .type(event.getType())
+                .taskId(event.getTask() != null ? event.getTask().getId() : event.getTaskId())
+                .build();
+        return objectMapper.writeValueAsString(new RelayedTaskEvent(nodeId, true, reference));
+    }
+
+    void receive(String payload) {
+        try {
+            RelayedTaskEvent relayed = objectMapper.readValue(payload, RelayedTaskEvent.class);
+            if (nodeId.equals(relayed.origin())) {
+                return;
+            }
+
+            TaskEvent event = relayed.truncated() ? reload(relayed.event()) : relayed.event();
+            if (event != null) {
+                listeners.forEach(listener -> listener.accept(event));
+            }
+        } catch (Exception e) {
+            log.error("Failed to handle relayed task event", e);
+        }
+    }
+
+    private TaskEvent reload(TaskEvent reference) throws JsonProcessingException {
+        if (reference.getEventId() != null) {
+            Optional<TaskEventRecord> record = eventRepository.findById(reference.getEventId());
+            if (record.isPresent()) {
+                TaskEvent event = objectMapper.readValue(record.get().getPayload(), TaskEvent.class);
+                event.setEventId(reference.getEventId());
+                event.setSequence(reference.getSequence());
+                return event;
+            }
+        }
+        if (reference.getType() == TaskEventType.DELETED) {
+            return reference;
+        }
+        return taskRepository.findById(reference.getTaskId())
+                .map(task -> TaskEvent.builder()
+                        .eventId(reference.getEventId())
+                        .sequence(reference.getSequence())
+                        .type(reference.getType())
+                        .task(taskMapper.toResponse(task))
+                        .build())
+                .orElse(null);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for task events from other nodes on channel {}", channel);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Task event relay connection lost, reconnecting in {} ms", RECONNECT_DELAY_MS, e);
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    record RelayedTaskEvent(String origin, boolean truncated, TaskEvent event) {}
+}
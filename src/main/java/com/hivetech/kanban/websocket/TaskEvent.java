@@ -2,6 +2,7 @@ package com.hivetech.kanban.websocket;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.enums.Status;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,8 +15,24 @@ import lombok.NoArgsConstructor;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class TaskEvent {
 
+    /**
+     * Outbox id of the event. Set once the event has been recorded. Ids are taken before the writing
+     * transaction commits, so they are unique but not ordered: use the sequence to order or resume.
+     */
+    private Long eventId;
+
+    /**
+     * Position of the event in publication order, which follows commit order. Set by the outbox relay
+     * when the event is published, so events applied locally right after commit have none yet.
+     */
+    private Long sequence;
     private TaskEventType type;
     private TaskResponse task;
     private Long taskId;
+
+    /**
+     * Status of the task before an update or deletion, so consumers can move it between columns.
+     */
+    private Status previousStatus;
 }
 
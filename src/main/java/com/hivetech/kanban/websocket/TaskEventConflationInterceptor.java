@@ -0,0 +1,95 @@
+package com.hivetech.kanban.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conflates task events on the client outbound channel.
+ *
+ * Every MESSAGE frame that carries a {@value #TASK_ID_HEADER} header is remembered as the latest
+ * frame for its (session, task) pair when it is queued. If a newer frame for the same pair is queued
+ * before the older one reaches a worker thread, the older one is skipped - a backlogged session only
+ * ever receives the most recent state of each task instead of replaying every intermediate change.
+ *
+ * Frames the outbound executor rejects must be reported through {@link #discard(Message)}, otherwise
+ * a dropped frame would still supersede the older frame that did make it into the queue.
+ */
+@Slf4j
+public class TaskEventConflationInterceptor implements ExecutorChannelInterceptor {
+
+    public static final String TASK_ID_HEADER = "task-id";
+
+    private final Map<String, Message<?>> latestBySessionAndTask = new ConcurrentHashMap<>();
+    private final Counter conflatedCounter;
+
+    public TaskEventConflationInterceptor(MeterRegistry meterRegistry) {
+        this.conflatedCounter = Counter.builder("websocket.outbound.conflated")
+                .description("Task events skipped because a newer event for the same task was queued")
+                .register(meterRegistry);
+        Gauge.builder("websocket.outbound.conflation.pending", latestBySessionAndTask, Map::size)
+                .description("Task events queued for delivery that are candidates for conflation")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String key = conflationKey(message);
+        if (key != null) {
+            latestBySessionAndTask.put(key, message);
+        }
+        return message;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        String key = conflationKey(message);
+        if (key == null) {
+            return message;
+        }
+
+        Message<?> latest = latestBySessionAndTask.get(key);
+        if (latest != null && latest != message) {
+            conflatedCounter.increment();
+            log.debug("Skipping superseded task event for {}", key);
+            return null;
+        }
+
+        latestBySessionAndTask.remove(key, message);
+        return message;
+    }
+
+    /**
+     * Forgets a frame that was never queued, so the frame queued before it for the same task is delivered.
+     */
+    public void discard(Message<?> message) {
+        String key = conflationKey(message);
+        if (key != null) {
+            latestBySessionAndTask.remove(key, message);
+        }
+    }
+
+    private String conflationKey(Message<?> message) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return null;
+        }
+
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        String taskId = NativeMessageHeaderAccessor.getFirstNativeHeader(TASK_ID_HEADER, message.getHeaders());
+        if (sessionId == null || taskId == null) {
+            return null;
+        }
+        return sessionId + ":" + taskId;
+    }
+}
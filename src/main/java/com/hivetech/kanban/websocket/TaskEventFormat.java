@@ -0,0 +1,41 @@
+package com.hivetech.kanban.websocket;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Wire formats a STOMP client can ask for with the {@code accept-format} header.
+ * Binary formats are delivered on their own destination so each event is encoded
+ * once per format and the same bytes are shared by all subscribers of that format.
+ */
+public enum TaskEventFormat {
+    JSON("application/json", ""),
+    CBOR("application/cbor", ".cbor"),
+    SMILE("application/x-jackson-smile", ".smile");
+
+    private final String mimeType;
+    private final String destinationSuffix;
+
+    TaskEventFormat(String mimeType, String destinationSuffix) {
+        this.mimeType = mimeType;
+        this.destinationSuffix = destinationSuffix;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public String destination(String topic) {
+        return topic + destinationSuffix;
+    }
+
+    public boolean isBinary() {
+        return this != JSON;
+    }
+
+    public static Optional<TaskEventFormat> fromMimeType(String mimeType) {
+        return Arrays.stream(values())
+                .filter(format -> format.mimeType.equalsIgnoreCase(mimeType.trim()))
+                .findFirst();
+    }
+}
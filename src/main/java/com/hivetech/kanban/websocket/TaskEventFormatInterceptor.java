@@ -0,0 +1,139 @@
+package com.hivetech.kanban.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Negotiates the task event wire format per subscription.
+ *
+ * A client sends {@value #ACCEPT_FORMAT_HEADER} on CONNECT to pick a default for the session, or on
+ * SUBSCRIBE to pick one for a single subscription. Binary subscriptions to the task topic are moved
+ * to the format's own destination, where the broker fans out one shared, pre-encoded payload.
+ *
+ * Binary frames are only possible on plain WebSocket sessions; SockJS transports are text only,
+ * so SockJS clients always get JSON. The handshake half of this class marks plain WebSocket sessions.
+ */
+@Component
+@Slf4j
+public class TaskEventFormatInterceptor implements ChannelInterceptor, HandshakeInterceptor {
+
+    public static final String ACCEPT_FORMAT_HEADER = "accept-format";
+    public static final String PAYLOAD_FORMAT_HEADER = "payload-format";
+    public static final String TASK_TOPIC = "/topic/tasks";
+
+    private static final String BINARY_CAPABLE_ATTRIBUTE = "taskEventBinaryCapable";
+    private static final String SESSION_FORMAT_ATTRIBUTE = "taskEventFormat";
+
+    private final Map<TaskEventFormat, Set<String>> subscriptions = new EnumMap<>(TaskEventFormat.class);
+
+    public TaskEventFormatInterceptor() {
+        for (TaskEventFormat format : TaskEventFormat.values()) {
+            subscriptions.put(format, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    public boolean hasSubscribers(TaskEventFormat format) {
+        return !subscriptions.get(format).isEmpty();
+    }
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        attributes.put(BINARY_CAPABLE_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+        // Nothing to do
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        if (accessor.getCommand() == null) {
+            return message;
+        }
+
+        switch (accessor.getCommand()) {
+            case CONNECT, STOMP -> rememberSessionFormat(accessor);
+            case SUBSCRIBE -> {
+                return subscribe(message, accessor);
+            }
+            case UNSUBSCRIBE -> removeSubscription(accessor.getSessionId(), accessor.getSubscriptionId());
+            case DISCONNECT -> removeSession(accessor.getSessionId());
+            default -> {
+                // Other frames need no format handling
+            }
+        }
+        return message;
+    }
+
+    private void rememberSessionFormat(StompHeaderAccessor accessor) {
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        TaskEventFormat format = requestedFormat(accessor, TaskEventFormat.JSON);
+        if (attributes != null && format != TaskEventFormat.JSON) {
+            attributes.put(SESSION_FORMAT_ATTRIBUTE, format);
+        }
+    }
+
+    private Message<?> subscribe(Message<?> message, StompHeaderAccessor accessor) {
+        if (!TASK_TOPIC.equals(accessor.getDestination())) {
+            return message;
+        }
+
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        TaskEventFormat sessionFormat = attributes != null && attributes.get(SESSION_FORMAT_ATTRIBUTE) instanceof TaskEventFormat f
+                ? f : TaskEventFormat.JSON;
+        TaskEventFormat format = requestedFormat(accessor, sessionFormat);
+        if (format.isBinary() && (attributes == null || !attributes.containsKey(BINARY_CAPABLE_ATTRIBUTE))) {
+            log.debug("Session {} cannot receive binary frames, falling back to JSON", accessor.getSessionId());
+            format = TaskEventFormat.JSON;
+        }
+
+        subscriptions.get(format).add(subscriptionKey(accessor.getSessionId(), accessor.getSubscriptionId()));
+        if (!format.isBinary()) {
+            return message;
+        }
+
+        accessor.setDestination(format.destination(TASK_TOPIC));
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+
+    private TaskEventFormat requestedFormat(StompHeaderAccessor accessor, TaskEventFormat fallback) {
+        String requested = accessor.getFirstNativeHeader(ACCEPT_FORMAT_HEADER);
+        if (requested == null) {
+            return fallback;
+        }
+        return TaskEventFormat.fromMimeType(requested).orElse(fallback);
+    }
+
+    private void removeSubscription(String sessionId, String subscriptionId) {
+        String key = subscriptionKey(sessionId, subscriptionId);
+        subscriptions.values().forEach(keys -> keys.remove(key));
+    }
+
+    private void removeSession(String sessionId) {
+        String prefix = sessionId + ":";
+        subscriptions.values().forEach(keys -> keys.removeIf(key -> key.startsWith(prefix)));
+    }
+
+    private String subscriptionKey(String sessionId, String subscriptionId) {
+        return sessionId + ":" + subscriptionId;
+    }
+}
@@ -0,0 +1,16 @@
+package com.hivetech.kanban.websocket;
+
+import java.util.function.Consumer;
+
+/**
+ * Propagates task events between application nodes.
+ *
+ * Each node broadcasts its own events to locally connected clients and hands them to the relay;
+ * events relayed from other nodes are delivered to the registered listeners for local fan-out.
+ */
+public interface TaskEventRelay {
+
+    void publish(TaskEvent event);
+
+    void subscribe(Consumer<TaskEvent> listener);
+}
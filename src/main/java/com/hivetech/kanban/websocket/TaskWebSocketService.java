@@ -1,51 +1,77 @@
 package com.hivetech.kanban.websocket;
 
-import com.hivetech.kanban.dto.TaskResponse;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.hivetech.kanban.event.TaskEventSink;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static com.hivetech.kanban.websocket.TaskEventFormatInterceptor.TASK_TOPIC;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
-public class TaskWebSocketService {
+public class TaskWebSocketService implements TaskEventSink {
 
-    private static final String TASK_TOPIC = "/topic/tasks";
-    
     private final SimpMessagingTemplate messagingTemplate;
+    private final TaskEventFormatInterceptor formatInterceptor;
+    private final Map<TaskEventFormat, ObjectMapper> binaryMappers = new EnumMap<>(TaskEventFormat.class);
 
-    public void notifyTaskCreated(TaskResponse task) {
-        log.debug("Broadcasting task created event: {}", task.getId());
-        
-        TaskEvent event = TaskEvent.builder()
-                .type(TaskEventType.CREATED)
-                .task(task)
-                .build();
-        
-        messagingTemplate.convertAndSend(TASK_TOPIC, event);
+    public TaskWebSocketService(
+            SimpMessagingTemplate messagingTemplate,
+            TaskEventFormatInterceptor formatInterceptor,
+            Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.messagingTemplate = messagingTemplate;
+        this.formatInterceptor = formatInterceptor;
+        // Same Jackson configuration as the JSON frames, only the wire format differs
+        this.binaryMappers.put(TaskEventFormat.CBOR, objectMapperBuilder.factory(new CBORFactory()).build());
+        this.binaryMappers.put(TaskEventFormat.SMILE, objectMapperBuilder.factory(new SmileFactory()).build());
     }
 
-    public void notifyTaskUpdated(TaskResponse task) {
-        log.debug("Broadcasting task updated event: {}", task.getId());
-        
-        TaskEvent event = TaskEvent.builder()
-                .type(TaskEventType.UPDATED)
-                .task(task)
-                .build();
-        
-        messagingTemplate.convertAndSend(TASK_TOPIC, event);
+    @Override
+    public void onTaskEvent(TaskEvent event) {
+        Long taskId = event.getTask() != null ? event.getTask().getId() : event.getTaskId();
+        log.debug("Broadcasting task {} event: {}", event.getType(), taskId);
+
+        // The task id header lets the outbound channel conflate backlogged events per task
+        messagingTemplate.convertAndSend(TASK_TOPIC, event,
+                Map.of(TaskEventConflationInterceptor.TASK_ID_HEADER, taskId));
+
+        binaryMappers.forEach((format, mapper) -> {
+            if (formatInterceptor.hasSubscribers(format)) {
+                sendBinary(format, mapper, taskId, event);
+            }
+        });
     }
 
-    public void notifyTaskDeleted(Long taskId) {
-        log.debug("Broadcasting task deleted event: {}", taskId);
-        
-        TaskEvent event = TaskEvent.builder()
-                .type(TaskEventType.DELETED)
-                .taskId(taskId)
-                .build();
-        
-        messagingTemplate.convertAndSend(TASK_TOPIC, event);
+    private void sendBinary(TaskEventFormat format, ObjectMapper mapper, Long taskId, TaskEvent event) {
+        byte[] payload;
+        try {
+            payload = mapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            log.error("Could not encode task event as {}", format, e);
+            return;
+        }
+
+        // STOMP only goes out as a binary WebSocket frame for octet-stream content,
+        // so the actual format travels in its own header
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setNativeHeader(TaskEventFormatInterceptor.PAYLOAD_FORMAT_HEADER, format.getMimeType());
+        accessor.setNativeHeader(TaskEventConflationInterceptor.TASK_ID_HEADER, String.valueOf(taskId));
+        accessor.setLeaveMutable(true);
+
+        messagingTemplate.send(format.destination(TASK_TOPIC),
+                MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
     }
 }
-
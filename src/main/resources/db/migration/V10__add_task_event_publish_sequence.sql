@@ -0,0 +1,16 @@
+-- V10: Position of every task event in publication order.
+-- Outbox ids are taken when the writing transaction inserts the row, so a lower id can commit after
+-- a higher one. The relay numbers events from this sequence while it holds the publication lock,
+-- which makes publish_seq follow commit order and safe to resume from.
+ALTER TABLE task_events ADD COLUMN publish_seq BIGINT;
+
+CREATE SEQUENCE task_events_publish_seq;
+
+UPDATE task_events e
+SET publish_seq = p.seq
+FROM (SELECT id, row_number() OVER (ORDER BY id) AS seq FROM task_events WHERE published_at IS NOT NULL) p
+WHERE e.id = p.id;
+
+SELECT setval('task_events_publish_seq', COALESCE((SELECT MAX(publish_seq) FROM task_events), 0) + 1, false);
+
+CREATE UNIQUE INDEX idx_task_events_publish_seq ON task_events(publish_seq);
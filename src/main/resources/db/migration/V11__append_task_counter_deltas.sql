@@ -0,0 +1,33 @@
+-- V11: Task counter changes are appended instead of updated in place.
+-- Updating the nine task_counters rows from every writing transaction serialized all writers on
+-- them, and two transactions moving tasks in opposite directions could deadlock. The trigger now
+-- only inserts delta rows, which take no row locks. The application folds them into task_counters
+-- periodically, and readers sum both through task_counter_totals.
+CREATE TABLE task_counter_deltas (
+    status VARCHAR(20) NOT NULL,
+    priority VARCHAR(10) NOT NULL,
+    delta INTEGER NOT NULL
+);
+
+CREATE OR REPLACE FUNCTION update_task_counters() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO task_counter_deltas (status, priority, delta) VALUES (NEW.status, NEW.priority, 1);
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO task_counter_deltas (status, priority, delta) VALUES (OLD.status, OLD.priority, -1);
+    ELSE
+        INSERT INTO task_counter_deltas (status, priority, delta)
+        VALUES (OLD.status, OLD.priority, -1), (NEW.status, NEW.priority, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE VIEW task_counter_totals AS
+SELECT c.status, c.priority, c.task_count + COALESCE(d.delta, 0) AS task_count
+FROM task_counters c
+LEFT JOIN (
+    SELECT status, priority, SUM(delta) AS delta
+    FROM task_counter_deltas
+    GROUP BY status, priority
+) d ON d.status = c.status AND d.priority = c.priority;
@@ -0,0 +1,8 @@
+-- V12: HTML escaping for search highlights.
+-- ts_headline copies the document text into its output unchanged, so markup in a title or description
+-- would reach clients next to the <mark> tags it adds. The search query escapes the text first, which
+-- leaves <mark></mark> as the only markup in a highlight.
+CREATE FUNCTION html_escape(input TEXT) RETURNS TEXT AS $$
+    SELECT replace(replace(replace(replace(replace(input,
+        '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), '"', '&quot;'), '''', '&#39;')
+$$ LANGUAGE sql IMMUTABLE STRICT;
@@ -0,0 +1,10 @@
+-- V13: Rank of the priority for the priority sort (TaskSortKey.PRIORITY).
+-- priority holds the enum name, so ordering by it put HIGH before LOW before MEDIUM. The rank follows
+-- the enum order, LOW < MEDIUM < HIGH; the indexes on priority stay for the priority filters.
+ALTER TABLE tasks ADD COLUMN priority_rank SMALLINT GENERATED ALWAYS AS (
+    CASE priority WHEN 'LOW' THEN 0 WHEN 'MEDIUM' THEN 1 WHEN 'HIGH' THEN 2 END
+) STORED;
+
+CREATE INDEX idx_tasks_priority_rank_created_at_id ON tasks(priority_rank, created_at, id);
+
+CREATE INDEX idx_tasks_status_priority_rank_created_at_id ON tasks(status, priority_rank, created_at, id);
@@ -0,0 +1,16 @@
+-- V3: Create task_events outbox table
+CREATE TABLE task_events (
+    id BIGSERIAL PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP
+);
+
+-- The relay only ever scans events that still have to be dispatched
+CREATE INDEX idx_task_events_unpublished ON task_events(id) WHERE published_at IS NULL;
+CREATE INDEX idx_task_events_task_id ON task_events(task_id, id);
+
+ALTER TABLE task_events ADD CONSTRAINT chk_event_type
+    CHECK (event_type IN ('CREATED', 'UPDATED', 'DELETED'));
@@ -0,0 +1,43 @@
+-- V4: Task counts per status and priority, maintained by triggers in the writing transaction
+CREATE TABLE task_counters (
+    status VARCHAR(20) NOT NULL,
+    priority VARCHAR(10) NOT NULL,
+    task_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (status, priority)
+);
+
+-- One row per combination allowed by chk_status and chk_priority
+INSERT INTO task_counters (status, priority, task_count)
+SELECT s.status, p.priority, 0
+FROM (VALUES ('TO_DO'), ('IN_PROGRESS'), ('DONE')) AS s(status)
+CROSS JOIN (VALUES ('LOW'), ('MEDIUM'), ('HIGH')) AS p(priority);
+
+UPDATE task_counters c
+SET task_count = t.task_count
+FROM (SELECT status, priority, COUNT(*) AS task_count FROM tasks GROUP BY status, priority) t
+WHERE c.status = t.status AND c.priority = t.priority;
+
+CREATE FUNCTION update_task_counters() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        UPDATE task_counters SET task_count = task_count - 1
+        WHERE status = OLD.status AND priority = OLD.priority;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        UPDATE task_counters SET task_count = task_count + 1
+        WHERE status = NEW.status AND priority = NEW.priority;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_counters_insert_delete
+    AFTER INSERT OR DELETE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION update_task_counters();
+
+-- Hibernate writes every column on update, so only fire when the counted columns really change
+CREATE TRIGGER trg_task_counters_update
+    AFTER UPDATE OF status, priority ON tasks
+    FOR EACH ROW
+    WHEN (OLD.status IS DISTINCT FROM NEW.status OR OLD.priority IS DISTINCT FROM NEW.priority)
+    EXECUTE FUNCTION update_task_counters();
@@ -0,0 +1,15 @@
+-- V6: Indexes for the combined task list filters (see TaskSpecifications)
+
+-- Priority filters, newest first; covers everything idx_tasks_priority was used for
+CREATE INDEX idx_tasks_priority_created_at ON tasks(priority, created_at DESC);
+DROP INDEX idx_tasks_priority;
+
+-- The most common combination: open work of some priorities, newest first
+CREATE INDEX idx_tasks_status_priority_created_at ON tasks(status, priority, created_at DESC);
+
+-- Updated date ranges
+CREATE INDEX idx_tasks_updated_at ON tasks(updated_at DESC);
+
+-- Case-insensitive title contains: lower(title) LIKE '%...%'
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_tasks_title_trgm ON tasks USING GIN (lower(title) gin_trgm_ops);
@@ -0,0 +1,20 @@
+-- V7: Indexes backing the supported sort orders (TaskSortKey)
+-- Each order ends in id so pages are stable, in one direction so a backward scan serves DESC;
+-- these replace the earlier indexes on the same leading columns without the id
+
+CREATE INDEX idx_tasks_created_at_id ON tasks(created_at, id);
+DROP INDEX idx_tasks_created_at;
+
+CREATE INDEX idx_tasks_status_created_at_id ON tasks(status, created_at, id);
+DROP INDEX idx_tasks_status_created_at;
+
+CREATE INDEX idx_tasks_updated_at_id ON tasks(updated_at, id);
+DROP INDEX idx_tasks_updated_at;
+
+CREATE INDEX idx_tasks_priority_created_at_id ON tasks(priority, created_at, id);
+DROP INDEX idx_tasks_priority_created_at;
+
+CREATE INDEX idx_tasks_status_priority_created_at_id ON tasks(status, priority, created_at, id);
+DROP INDEX idx_tasks_status_priority_created_at;
+
+CREATE INDEX idx_tasks_title_id ON tasks(title, id);
@@ -0,0 +1,4 @@
+-- V8: Task ids are generated by the application (time-sorted 53-bit TSIDs) or assigned by clients.
+-- Existing BIGSERIAL ids stay valid: every TSID is far above the ids the sequence handed out.
+ALTER TABLE tasks ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS tasks_id_seq;
@@ -0,0 +1,16 @@
+-- V9: Idempotency keys of task mutations, with the response to replay for retried requests.
+-- A row without response_status is a claim of a request still in progress; expires_at is then
+-- the lock timeout after which another request may take the key over
+CREATE TABLE idempotency_keys (
+    owner VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint VARCHAR(64) NOT NULL,
+    response_status INTEGER,
+    response_content_type VARCHAR(255),
+    response_body BYTEA,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (owner, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
@@ -0,0 +1,224 @@
+package com.hivetech.kanban.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hivetech.kanban.dto.BatchRequest;
+import com.hivetech.kanban.dto.BatchResponse;
+import com.hivetech.kanban.dto.TaskFilter;
+import com.hivetech.kanban.dto.TaskRequest;
+import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.exception.GlobalExceptionHandler;
+import com.hivetech.kanban.exception.ResourceNotFoundException;
+import com.hivetech.kanban.readmodel.TaskTitleIndex;
+import com.hivetech.kanban.service.TaskSearchService;
+import com.hivetech.kanban.service.TaskService;
+import com.hivetech.kanban.service.TaskStatsService;
+import com.hivetech.kanban.sse.TaskEventStreamService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.HandlerAdapter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class BatchRequestDispatcherTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private TaskEventStreamService eventStreamService;
+
+    @Mock
+    private TaskStatsService statsService;
+
+    @Mock
+    private TaskSearchService searchService;
+
+    @Mock
+    private TaskTitleIndex titleIndex;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GenericWebApplicationContext context;
+    private BatchRequestDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        // The MVC infrastructure the dispatcher shares with standalone requests
+        context = new GenericWebApplicationContext(new MockServletContext());
+        AnnotationConfigUtils.registerAnnotationConfigProcessors(context);
+        context.registerBean(WebConfig.class);
+        context.registerBean(GlobalExceptionHandler.class);
+        context.registerBean(TaskController.class,
+                () -> new TaskController(taskService, eventStreamService, statsService, searchService, titleIndex));
+        context.refresh();
+
+        dispatcher = new BatchRequestDispatcher(
+                context.getBean("requestMappingHandlerMapping", HandlerMapping.class),
+                context.getBean("requestMappingHandlerAdapter", HandlerAdapter.class),
+                context.getBean("handlerExceptionResolver", HandlerExceptionResolver.class),
+                objectMapper, 2);
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest("POST", "/api/batch"), new MockHttpServletResponse()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+        context.close();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("should return responses in request order with their own status")
+    void shouldDispatchInOrder() {
+        // given
+        given(taskService.getTaskById(1L)).willReturn(task(1L));
+        given(taskService.createTask(any(TaskRequest.class))).willReturn(task(2L));
+
+        // when
+        BatchResponse response = dispatcher.dispatch(batch(
+                operation("a", "GET", "/api/tasks/1", null),
+                operation("b", "POST", "/api/tasks", objectMapper.valueToTree(TaskRequest.builder()
+                        .title("New").status("TO_DO").priority("LOW").build())),
+                operation("c", "DELETE", "/api/tasks/1", null)));
+
+        // then
+        assertThat(response.getResponses())
+                .extracting(BatchResponse.Result::getId, BatchResponse.Result::getStatus)
+                .containsExactly(
+                        tuple("a", 200),
+                        tuple("b", 201),
+                        tuple("c", 204));
+        assertThat(json(response, 1).get("title").asText()).isEqualTo("Task 2");
+        assertThat(response.getResponses().get(2).getBody()).isNull();
+        InOrder order = inOrder(taskService);
+        order.verify(taskService).getTaskById(1L);
+        order.verify(taskService).createTask(any(TaskRequest.class));
+        order.verify(taskService).deleteTask(1L);
+    }
+
+    @Test
+    @DisplayName("should bind filters, paging and sort like the standalone endpoint")
+    void shouldBindQueryLikeTheEndpoint() {
+        // given
+        given(taskService.getTaskSlice(any(TaskFilter.class), any(Pageable.class)))
+                .willReturn(new SliceImpl<>(List.of(task(1L))));
+
+        // when
+        BatchResponse response = dispatcher.dispatch(batch(operation("a", "GET",
+                "/api/tasks?slice=true&status=TO_DO&status=DONE&title=login%20bug&page=2&size=5&sort=title,asc", null)));
+
+        // then
+        assertThat(response.getResponses().get(0).getStatus()).isEqualTo(200);
+        ArgumentCaptor<TaskFilter> filter = ArgumentCaptor.forClass(TaskFilter.class);
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(taskService).getTaskSlice(filter.capture(), pageable.capture());
+        assertThat(filter.getValue().getStatus()).isEqualTo(Set.of(Status.TO_DO, Status.DONE));
+        assertThat(filter.getValue().getTitle()).isEqualTo("login bug");
+        assertThat(pageable.getValue().getPageNumber()).isEqualTo(2);
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(5);
+        assertThat(pageable.getValue().getSort().getOrderFor("title")).isEqualTo(Sort.Order.asc("title"));
+    }
+
+    @Test
+    @DisplayName("should render failures through the global exception handler")
+    void shouldMapExceptions() {
+        // given
+        given(taskService.getTaskById(99L)).willThrow(new ResourceNotFoundException("Task", "id", 99L));
+
+        // when
+        BatchResponse response = dispatcher.dispatch(batch(
+                operation("a", "GET", "/api/tasks/99", null),
+                operation("b", "GET", "/api/tasks?sort=description,asc", null)));
+
+        // then
+        assertThat(response.getResponses()).extracting(BatchResponse.Result::getStatus).containsExactly(404, 400);
+        assertThat(json(response, 0).get("message").asText()).contains("99");
+        assertThat(json(response, 1).get("message").asText()).contains("description");
+    }
+
+    @Test
+    @DisplayName("should validate request bodies like @Valid")
+    void shouldRejectInvalidBody() {
+        // when
+        BatchResponse response = dispatcher.dispatch(batch(
+                operation("a", "POST", "/api/tasks", objectMapper.createObjectNode().put("status", "TO_DO"))));
+
+        // then
+        BatchResponse.Result result = response.getResponses().get(0);
+        assertThat(result.getStatus()).isEqualTo(400);
+        assertThat(json(response, 0).get("validationErrors").has("title")).isTrue();
+        verify(taskService, never()).createTask(any());
+    }
+
+    @Test
+    @DisplayName("should reject paths outside the task API")
+    void shouldRejectUnsupportedPath() {
+        // when
+        BatchResponse response = dispatcher.dispatch(batch(
+                operation("a", "GET", "/api/batch", null),
+                operation("b", "POST", "/api/tasks/1", null),
+                operation("c", "GET", "/api/tasks/stream", null)));
+
+        // then
+        assertThat(response.getResponses()).extracting(BatchResponse.Result::getStatus).containsExactly(400, 400, 400);
+        verifyNoInteractions(taskService, eventStreamService);
+    }
+
+    private static JsonNode json(BatchResponse response, int index) {
+        return (JsonNode) response.getResponses().get(index).getBody();
+    }
+
+    private static BatchRequest batch(BatchRequest.Operation... operations) {
+        return BatchRequest.builder().requests(List.of(operations)).build();
+    }
+
+    private static BatchRequest.Operation operation(String id, String method, String path,
+                                                    JsonNode body) {
+        return BatchRequest.Operation.builder().id(id).method(method).path(path).body(body).build();
+    }
+
+    private static TaskResponse task(Long id) {
+        return TaskResponse.builder().id(id).title("Task " + id).build();
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @EnableSpringDataWebSupport
+    static class WebConfig {
+    }
+}
@@ -0,0 +1,242 @@
+package com.hivetech.kanban.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ReplicaPoolTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(1);
+
+    private DataSource primary;
+    private ReplicaPool.Replica first;
+    private ReplicaPool.Replica second;
+    private ReadYourWritesTracker tracker;
+    private ReplicaPool pool;
+
+    @BeforeEach
+    void setUp() {
+        primary = mock(DataSource.class);
+        first = new ReplicaPool.Replica("replica-0", mock(DataSource.class));
+        second = new ReplicaPool.Replica("replica-1", mock(DataSource.class));
+        tracker = new ReadYourWritesTracker(() -> primary, Duration.ofMinutes(1), 100);
+        pool = new ReplicaPool(primary, List.of(first, second), tracker, MAX_LAG, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(primary);
+    }
+
+    @Nested
+    @DisplayName("replica selection")
+    class Selection {
+
+        @Test
+        @DisplayName("should alternate between healthy replicas")
+        void shouldRoundRobin() {
+            // given
+            first.update(new ReplicaPool.ReplicaStatus(true, "0/100", 0), MAX_LAG);
+            second.update(new ReplicaPool.ReplicaStatus(true, "0/100", 0), MAX_LAG);
+
+            // when / then
+            assertThat(List.of(pool.select(OptionalLong.empty()), pool.select(OptionalLong.empty()),
+                    pool.select(OptionalLong.empty()))).containsExactly(first, second, first);
+        }
+
+        @Test
+        @DisplayName("should skip replicas that lag, left recovery or were never checked")
+        void shouldSkipUnhealthyReplicas() {
+            // given
+            first.update(new ReplicaPool.ReplicaStatus(true, "0/100", 5), MAX_LAG);
+
+            // then
+            assertThat(first.isHealthy()).isFalse();
+            assertThat(pool.select(OptionalLong.empty())).isNull();
+
+            // when
+            second.update(new ReplicaPool.ReplicaStatus(true, "0/100", 0.5), MAX_LAG);
+
+            // then
+            assertThat(pool.select(OptionalLong.empty())).isSameAs(second);
+
+            // when - promoted
+            second.update(new ReplicaPool.ReplicaStatus(false, null, 0), MAX_LAG);
+
+            // then
+            assertThat(pool.select(OptionalLong.empty())).isNull();
+        }
+
+        @Test
+        @DisplayName("should read from the primary when no replica is healthy or one refuses a connection")
+        void shouldFallBackToPrimary() throws SQLException {
+            // given
+            Connection primaryConnection = mock(Connection.class);
+            given(primary.getConnection()).willReturn(primaryConnection);
+
+            // when / then
+            assertThat(pool.getConnection()).isSameAs(primaryConnection);
+
+            // given
+            DataSource failing = mock(DataSource.class);
+            given(failing.getConnection()).willThrow(new SQLException("connection refused"));
+            ReplicaPool.Replica broken = new ReplicaPool.Replica("replica-2", failing);
+            broken.update(new ReplicaPool.ReplicaStatus(true, "0/100", 0), MAX_LAG);
+            ReplicaPool brokenPool = new ReplicaPool(primary, List.of(broken), tracker, MAX_LAG, new SimpleMeterRegistry());
+
+            // when / then
+            assertThat(brokenPool.getConnection()).isSameAs(primaryConnection);
+            assertThat(broken.isHealthy()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("read-your-writes")
+    class ReadYourWrites {
+
+        @Test
+        @DisplayName("should keep a client that just wrote on replicas that replayed its write")
+        void shouldRequireReplayedLsn() {
+            // given
+            first.update(new ReplicaPool.ReplicaStatus(true, "0/100", 0), MAX_LAG);
+            second.update(new ReplicaPool.ReplicaStatus(true, "0/200", 0), MAX_LAG);
+            authenticate("alice");
+            tracker.record("user:alice", ReadYourWritesTracker.parseLsn("0/180"));
+
+            // when
+            OptionalLong required = tracker.requiredLsn();
+
+            // then
+            assertThat(required).hasValue(0x180);
+            assertThat(pool.select(required)).isSameAs(second);
+            assertThat(pool.select(required)).isSameAs(second);
+
+            // when - the other replica is behind as well
+            second.update(new ReplicaPool.ReplicaStatus(true, "0/150", 0), MAX_LAG);
+
+            // then
+            assertThat(pool.select(required)).isNull();
+        }
+
+        @Test
+        @DisplayName("should not pin other clients")
+        void shouldOnlyPinTheWriter() {
+            // given
+            tracker.record("user:alice", 0x180);
+
+            // when
+            authenticate("bob");
+
+            // then
+            assertThat(tracker.requiredLsn()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should only pin after committed read-write transactions")
+        void shouldIgnoreReadOnlyAndRolledBackTransactions() {
+            // given
+            authenticate("alice");
+            TransactionExecution readOnly = mock(TransactionExecution.class);
+            given(readOnly.isReadOnly()).willReturn(true);
+            TransactionExecution readWrite = mock(TransactionExecution.class);
+
+            // when
+            TransactionSynchronizationManager.initSynchronization();
+            tracker.afterBegin(readOnly, null);
+            tracker.afterBegin(readWrite, new IllegalStateException("begin failed"));
+            tracker.afterBegin(readWrite, null);
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            // then
+            assertThat(tracker.requiredLsn()).isEmpty();
+
+            // when - no connection is bound to the transaction, the client stays on the primary
+            TransactionSynchronizationManager.initSynchronization();
+            tracker.afterBegin(readWrite, null);
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+
+            // then
+            assertThat(tracker.requiredLsn()).hasValue(Long.MAX_VALUE);
+        }
+
+        @Test
+        @DisplayName("should read the WAL position on the connection of the committed transaction")
+        void shouldReadPositionOnTransactionConnection() throws SQLException {
+            // given
+            authenticate("alice");
+            Connection connection = mock(Connection.class);
+            Statement statement = mock(Statement.class);
+            ResultSet resultSet = mock(ResultSet.class);
+            given(connection.createStatement()).willReturn(statement);
+            given(statement.executeQuery(ReadYourWritesTracker.CURRENT_LSN_SQL)).willReturn(resultSet);
+            given(resultSet.next()).willReturn(true, false);
+            given(resultSet.getString(1)).willReturn("0/180");
+            ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+            given(metaData.getColumnCount()).willReturn(1);
+            given(resultSet.getMetaData()).willReturn(metaData);
+            TransactionSynchronizationManager.bindResource(primary, new ConnectionHolder(connection));
+
+            // when
+            TransactionSynchronizationManager.initSynchronization();
+            tracker.afterBegin(mock(TransactionExecution.class), null);
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+
+            // then
+            assertThat(tracker.requiredLsn()).hasValue(0x180L);
+            verify(primary, never()).getConnection();
+        }
+
+        @Test
+        @DisplayName("should parse Postgres LSNs into comparable numbers")
+        void shouldParseLsn() {
+            assertThat(ReadYourWritesTracker.parseLsn("16/B374D848")).isEqualTo(0x16B374D848L);
+            assertThat(ReadYourWritesTracker.parseLsn("1/0")).isGreaterThan(ReadYourWritesTracker.parseLsn("0/FFFFFFFF"));
+            assertThatThrownBy(() -> ReadYourWritesTracker.parseLsn("invalid"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        private void complete(int status) {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        private void authenticate(String username) {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(username, null, List.of()));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.hivetech.kanban.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TsidTest {
+
+    private static final long NOW = Tsid.EPOCH_MILLIS + 30L * 24 * 3_600_000;
+
+    @Test
+    @DisplayName("should encode timestamp and node id in a 53-bit id")
+    void shouldEncodeTimestampAndNode() {
+        // given
+        Tsid tsid = new Tsid(3, () -> NOW);
+
+        // when
+        long id = tsid.next();
+
+        // then
+        assertThat(id).isPositive().isLessThanOrEqualTo(Tsid.MAX_ID);
+        assertThat(Tsid.timestampMillis(id)).isEqualTo(NOW);
+        assertThat(Tsid.nodeId(id)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should keep increasing within a millisecond, across sequence overflow and when the clock steps back")
+    void shouldBeStrictlyIncreasing() {
+        // given
+        AtomicLong clock = new AtomicLong(NOW);
+        Tsid tsid = new Tsid(0, clock::get);
+        long previous = tsid.next();
+
+        // when / then - 300 ids in one millisecond overflow the 8-bit sequence
+        for (int i = 0; i < 300; i++) {
+            long id = tsid.next();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+        assertThat(Tsid.timestampMillis(previous)).isEqualTo(NOW + 1);
+
+        // when
+        clock.set(NOW - 5_000);
+
+        // then
+        assertThat(tsid.next()).isGreaterThan(previous);
+    }
+
+    @Test
+    @DisplayName("should only accept client ids on the client node that are above the legacy ids and not in the future")
+    void shouldValidateClientIds() {
+        // given
+        long clientId = new Tsid(0, () -> NOW).next() | (long) Tsid.CLIENT_NODE_ID << Tsid.SEQUENCE_BITS;
+        long serverId = new Tsid(14, () -> NOW).next();
+        long futureId = ((NOW + 3_600_000 - Tsid.EPOCH_MILLIS) << (Tsid.NODE_BITS + Tsid.SEQUENCE_BITS))
+                | (long) Tsid.CLIENT_NODE_ID << Tsid.SEQUENCE_BITS;
+        long legacyRangeId = 42L << (Tsid.NODE_BITS + Tsid.SEQUENCE_BITS) | (long) Tsid.CLIENT_NODE_ID << Tsid.SEQUENCE_BITS;
+
+        // then
+        assertThat(Tsid.isClientAssignable(clientId, NOW)).isTrue();
+        assertThat(Tsid.isClientAssignable(serverId, NOW)).isFalse();
+        assertThat(Tsid.isClientAssignable(futureId, NOW)).isFalse();
+        assertThat(Tsid.isClientAssignable(legacyRangeId, NOW)).isFalse();
+        assertThat(Tsid.isClientAssignable(-clientId, NOW)).isFalse();
+        assertThat(Tsid.isClientAssignable(clientId | 1L << 53, NOW)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reserve the client node id")
+    void shouldRejectClientNodeForServers() {
+        assertThatThrownBy(() -> new Tsid(Tsid.CLIENT_NODE_ID)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
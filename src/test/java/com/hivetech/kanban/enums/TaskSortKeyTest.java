@@ -0,0 +1,45 @@
+package com.hivetech.kanban.enums;
+
+import com.hivetech.kanban.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskSortKeyTest {
+
+    @Test
+    @DisplayName("should expand a supported sort to its full order with the id tiebreaker")
+    void shouldExpandSupportedSort() {
+        // when
+        Sort sort = TaskSortKey.resolve(Sort.by(Sort.Direction.ASC, "priority"));
+
+        // then
+        assertThat(sort).containsExactly(
+                Sort.Order.asc("priorityRank"), Sort.Order.asc("createdAt"), Sort.Order.asc("id"));
+        assertThat(TaskSortKey.of(sort)).isEqualTo(TaskSortKey.PRIORITY);
+        assertThat(TaskSortKey.resolve(sort)).isEqualTo(sort);
+    }
+
+    @Test
+    @DisplayName("should default to newest first")
+    void shouldDefaultToNewestFirst() {
+        assertThat(TaskSortKey.resolve(Sort.unsorted())).isEqualTo(TaskSortKey.CREATED_AT.toSort(Sort.Direction.DESC));
+    }
+
+    @Test
+    @DisplayName("should reject unindexed properties and combinations")
+    void shouldRejectUnsupportedSorts() {
+        assertThatThrownBy(() -> TaskSortKey.resolve(Sort.by("description")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("description");
+        assertThatThrownBy(() -> TaskSortKey.resolve(Sort.by("title", "createdAt")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> TaskSortKey.resolve(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.asc("id"))))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> TaskSortKey.resolve(Sort.by("priorityRank")))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
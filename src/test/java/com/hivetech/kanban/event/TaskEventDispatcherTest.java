@@ -0,0 +1,89 @@
+package com.hivetech.kanban.event;
+
+import com.hivetech.kanban.websocket.TaskEvent;
+import com.hivetech.kanban.websocket.TaskEventRelay;
+import com.hivetech.kanban.websocket.TaskEventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TaskEventDispatcherTest {
+
+    @Mock
+    private TaskEventSink firstSink;
+
+    @Mock
+    private TaskEventSink secondSink;
+
+    @Mock
+    private TaskEventRelay eventRelay;
+
+    private TaskEventDispatcher dispatcher;
+    private TaskEvent event;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new TaskEventDispatcher(List.of(firstSink, secondSink), eventRelay);
+        event = TaskEvent.builder()
+                .eventId(1L)
+                .type(TaskEventType.DELETED)
+                .taskId(42L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("should deliver to all local sinks and relay to other nodes")
+    void shouldDeliverLocallyAndRelay() {
+        // when
+        dispatcher.dispatch(event);
+
+        // then
+        verify(firstSink).onTaskEvent(event);
+        verify(secondSink).onTaskEvent(event);
+        verify(eventRelay).publish(event);
+    }
+
+    @Test
+    @DisplayName("should keep delivering when one sink fails")
+    void shouldIsolateFailingSink() {
+        // given
+        willThrow(new IllegalStateException("boom")).given(firstSink).onTaskEvent(event);
+
+        // when
+        dispatcher.dispatch(event);
+
+        // then
+        verify(secondSink).onTaskEvent(event);
+        verify(eventRelay).publish(event);
+    }
+
+    @Test
+    @DisplayName("should deliver relayed events locally without relaying them again")
+    @SuppressWarnings("unchecked")
+    void shouldNotRelayRemoteEventsAgain() {
+        // given
+        ArgumentCaptor<Consumer<TaskEvent>> listener = ArgumentCaptor.forClass(Consumer.class);
+        dispatcher.subscribeToRelay();
+        verify(eventRelay).subscribe(listener.capture());
+
+        // when
+        listener.getValue().accept(event);
+
+        // then
+        verify(firstSink).onTaskEvent(event);
+        verify(secondSink).onTaskEvent(event);
+        verify(eventRelay, never()).publish(event);
+    }
+}
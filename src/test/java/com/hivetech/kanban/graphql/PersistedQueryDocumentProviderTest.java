@@ -0,0 +1,98 @@
+package com.hivetech.kanban.graphql;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.language.Document;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistedQueryDocumentProviderTest {
+
+    private static final String QUERY = "{ tasks { id title } }";
+
+    private PersistedQueryDocumentProvider provider;
+    private AtomicInteger parseCount;
+    private Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate;
+
+    @BeforeEach
+    void setUp() {
+        provider = new PersistedQueryDocumentProvider(new SimpleMeterRegistry(), 100);
+        parseCount = new AtomicInteger();
+        parseAndValidate = input -> {
+            parseCount.incrementAndGet();
+            return new PreparsedDocumentEntry(Document.newDocument().build());
+        };
+    }
+
+    @Test
+    @DisplayName("should parse the same query text only once")
+    void shouldCacheParsedDocument() {
+        // when
+        PreparsedDocumentEntry first = provider.getDocumentAsync(input(QUERY, null), parseAndValidate).join();
+        PreparsedDocumentEntry second = provider.getDocumentAsync(input(QUERY, null), parseAndValidate).join();
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(parseCount).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should serve a persisted query by hash once it has been registered")
+    void shouldServePersistedQueryByHash() {
+        // given
+        String hash = PersistedQueryDocumentProvider.sha256(QUERY);
+        PreparsedDocumentEntry registered = provider.getDocumentAsync(input(QUERY, hash), parseAndValidate).join();
+
+        // when
+        PreparsedDocumentEntry result = provider.getDocumentAsync(
+                input(PersistedQuerySupport.PERSISTED_QUERY_MARKER, hash), parseAndValidate).join();
+
+        // then
+        assertThat(result).isSameAs(registered);
+        assertThat(parseCount).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should ask the client for the query text when the hash is unknown")
+    void shouldReportUnknownHash() {
+        // when
+        PreparsedDocumentEntry result = provider.getDocumentAsync(
+                input(PersistedQuerySupport.PERSISTED_QUERY_MARKER, "abc123"), parseAndValidate).join();
+
+        // then
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getErrorType()).isInstanceOf(PersistedQueryNotFound.class));
+        assertThat(parseCount).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("should reject a hash that does not match the query text")
+    void shouldRejectMismatchedHash() {
+        // when
+        PreparsedDocumentEntry result = provider.getDocumentAsync(input(QUERY, "abc123"), parseAndValidate).join();
+
+        // then
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getErrorType()).isInstanceOf(PersistedQueryIdInvalid.class));
+        assertThat(parseCount).hasValue(0);
+    }
+
+    private ExecutionInput input(String query, String hash) {
+        ExecutionInput.Builder builder = ExecutionInput.newExecutionInput(query);
+        if (hash != null) {
+            builder.extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.hivetech.kanban.graphql;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryCostInstrumentationTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GraphQL graphQL;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        QueryCostInstrumentation instrumentation = new QueryCostInstrumentation(meterRegistry, 5, 1000, 3, 100);
+
+        try (Reader schema = new InputStreamReader(new ClassPathResource("graphql/schema.graphqls").getInputStream())) {
+            GraphQLSchema graphQLSchema = new SchemaGenerator().makeExecutableSchema(
+                    new SchemaParser().parse(schema), RuntimeWiring.newRuntimeWiring().build());
+            graphQL = GraphQL.newGraphQL(graphQLSchema).instrumentation(instrumentation).build();
+        }
+    }
+
+    @Test
+    @DisplayName("should multiply list field weight by the requested page size")
+    void shouldReportCostInExtensions() {
+        // when
+        ExecutionResult result = graphQL.execute("{ tasks(size: 20) { id title } }");
+
+        // then
+        assertThat(costExtension(result)).containsEntry("requested", 20L).containsEntry("depth", 2);
+        assertThat(meterRegistry.summary("graphql.query.cost").totalAmount()).isEqualTo(20.0);
+    }
+
+    @Test
+    @DisplayName("should use the schema default page size and @cost weights")
+    void shouldApplyDefaultSizeAndDirectiveWeights() {
+        // when
+        ExecutionResult tasks = graphQL.execute("{ tasks { id } }");
+        ExecutionResult delete = graphQL.execute("mutation { deleteTask(id: 1) }");
+
+        // then
+        assertThat(costExtension(tasks)).containsEntry("requested", 100L);
+        assertThat(costExtension(delete)).containsEntry("requested", 10L);
+    }
+
+    @Test
+    @DisplayName("should multiply batch mutations by the number of inputs")
+    void shouldUseListArgumentLength() {
+        // when
+        ExecutionResult result = graphQL.execute("mutation { deleteTasks(ids: [1, 2, 3]) { id error } }");
+
+        // then
+        assertThat(costExtension(result)).containsEntry("requested", 15L);
+    }
+
+    @Test
+    @DisplayName("should reject queries exceeding the maximum cost before execution")
+    void shouldRejectExpensiveQuery() {
+        // when
+        ExecutionResult result = graphQL.execute("{ tasks(size: 5000) { id } }");
+
+        // then
+        assertThat(result.getErrors()).extracting(GraphQLError::getMessage)
+                .containsExactly("Query cost 5000 exceeds the maximum of 1000");
+        assertThat((Object) result.getData()).isNull();
+        assertThat(meterRegistry.counter("graphql.query.rejected", "limit", "max-cost").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should reject alias fan-out")
+    void shouldRejectTooManyAliases() {
+        // given
+        String query = IntStream.rangeClosed(1, 4)
+                .mapToObj(i -> "t" + i + ": task(id: " + i + ") { id }")
+                .collect(Collectors.joining(" ", "{ ", " }"));
+
+        // when
+        ExecutionResult result = graphQL.execute(query);
+
+        // then
+        assertThat(result.getErrors()).extracting(GraphQLError::getMessage)
+                .containsExactly("Query uses 4 aliases, the maximum is 3");
+    }
+
+    @Test
+    @DisplayName("should not count introspection against the limits")
+    void shouldExemptIntrospection() {
+        // when
+        ExecutionResult result = graphQL.execute(
+                "{ __schema { types { fields { type { ofType { ofType { ofType { name } } } } } } } }");
+
+        // then
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(costExtension(result)).containsEntry("requested", 0L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> costExtension(ExecutionResult result) {
+        return (Map<String, Object>) result.getExtensions().get(QueryCostInstrumentation.COST_DIRECTIVE);
+    }
+}
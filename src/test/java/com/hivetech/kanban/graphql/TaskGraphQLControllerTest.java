@@ -2,10 +2,18 @@ package com.hivetech.kanban.graphql;
 
 import com.hivetech.kanban.dto.TaskRequest;
 import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.dto.TaskSearchResponse;
 import com.hivetech.kanban.dto.TaskUpdateRequest;
 import com.hivetech.kanban.enums.Priority;
 import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.exception.BadRequestException;
+import com.hivetech.kanban.service.TaskSearchService;
 import com.hivetech.kanban.service.TaskService;
+import com.hivetech.kanban.websocket.TaskEvent;
+import com.hivetech.kanban.websocket.TaskEventType;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,16 +24,23 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class TaskGraphQLControllerTest {
@@ -33,6 +48,15 @@ class TaskGraphQLControllerTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private TaskSearchService searchService;
+
+    @Mock
+    private TaskSubscriptionPublisher subscriptionPublisher;
+
+    @Mock
+    private DataFetchingFieldSelectionSet selectionSet;
+
     @InjectMocks
     private TaskGraphQLController taskGraphQLController;
 
@@ -62,7 +86,7 @@ class TaskGraphQLControllerTest {
         given(taskService.getAllTasks(eq(null), any(Pageable.class))).willReturn(taskPage);
 
         // when
-        var result = taskGraphQLController.tasks(null);
+        var result = taskGraphQLController.tasks(null, 0, 100);
 
         // then
         assertThat(result).hasSize(1);
@@ -81,21 +105,33 @@ class TaskGraphQLControllerTest {
         given(taskService.getAllTasks(eq(Status.TO_DO), any(Pageable.class))).willReturn(taskPage);
 
         // when
-        var result = taskGraphQLController.tasks(Status.TO_DO);
+        var result = taskGraphQLController.tasks(Status.TO_DO, 0, 100);
 
         // then
         assertThat(result).hasSize(1);
         assertThat(result.get(0).status()).isEqualTo(Status.TO_DO);
     }
 
+    @Test
+    @DisplayName("should reject a negative page or a page size below 1")
+    void shouldRejectInvalidPaging() {
+        assertThatThrownBy(() -> taskGraphQLController.tasks(null, -1, 20)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> taskGraphQLController.tasks(null, 0, 0)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> taskGraphQLController.tasks(null, 0, -5)).isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(taskService);
+    }
+
     @Test
     @DisplayName("should return task by id")
     void shouldReturnTaskById() {
         // given
-        given(taskService.getTaskById(1L)).willReturn(taskResponse);
+        DataLoader<Long, TaskResponse> taskLoader = DataLoaderFactory.newMappedDataLoader(
+                (Set<Long> ids) -> CompletableFuture.completedFuture(Map.of(1L, taskResponse)));
 
         // when
-        var result = taskGraphQLController.task(1L);
+        var future = taskGraphQLController.task(1L, taskLoader);
+        taskLoader.dispatch();
+        var result = future.join();
 
         // then
         assertThat(result.id()).isEqualTo(1L);
@@ -105,11 +141,55 @@ class TaskGraphQLControllerTest {
         assertThat(result.updatedAt()).isEqualTo(now);
     }
 
+    @Test
+    @DisplayName("should resolve all requested ids with one batch and null for unknown ids")
+    void shouldBatchTaskLookups() {
+        // given
+        List<Set<Long>> batches = new ArrayList<>();
+        DataLoader<Long, TaskResponse> taskLoader = DataLoaderFactory.newMappedDataLoader((Set<Long> ids) -> {
+            batches.add(ids);
+            return CompletableFuture.completedFuture(Map.of(1L, taskResponse));
+        });
+
+        // when
+        var first = taskGraphQLController.task(1L, taskLoader);
+        var missing = taskGraphQLController.task(99L, taskLoader);
+        taskLoader.dispatch();
+
+        // then
+        assertThat(first.join().id()).isEqualTo(1L);
+        assertThat(missing.join()).isNull();
+        assertThat(batches).containsExactly(Set.of(1L, 99L));
+    }
+
+    @Test
+    @DisplayName("should return search hits with their cursor")
+    void shouldSearchTasks() {
+        // given
+        TaskSearchResponse.Hit hit = TaskSearchResponse.Hit.builder()
+                .task(taskResponse)
+                .rank(0.5f)
+                .titleHighlight("<mark>Test</mark> Task")
+                .build();
+        given(searchService.search("test", Status.TO_DO, null, null, 20))
+                .willReturn(new TaskSearchResponse(List.of(hit), "next"));
+
+        // when
+        var result = taskGraphQLController.searchTasks("test", Status.TO_DO, null, null, 20);
+
+        // then
+        assertThat(result.hits()).hasSize(1);
+        assertThat(result.hits().get(0).task().id()).isEqualTo(1L);
+        assertThat(result.hits().get(0).titleHighlight()).isEqualTo("<mark>Test</mark> Task");
+        assertThat(result.nextCursor()).isEqualTo("next");
+    }
+
     @Test
     @DisplayName("should create task")
     void shouldCreateTask() {
         // given
         TaskGraphQLController.CreateTaskInput input = new TaskGraphQLController.CreateTaskInput(
+                null,
                 "New Task",
                 "New Description",
                 "TO_DO",
@@ -179,10 +259,67 @@ class TaskGraphQLControllerTest {
         given(taskService.getAllTasks(any(), any(Pageable.class))).willReturn(emptyPage);
 
         // when
-        var result = taskGraphQLController.tasks(null);
+        var result = taskGraphQLController.tasks(null, 0, 100);
 
         // then
         assertThat(result).isEmpty();
     }
-}
 
+    @Test
+    @DisplayName("should stream task changes matching the subscribed status")
+    void shouldStreamTaskChangesForStatus() {
+        // given
+        TaskResponse doneTask = TaskResponse.builder().id(2L).title("Done").status(Status.DONE).build();
+        given(subscriptionPublisher.events()).willReturn(Flux.just(
+                TaskEvent.builder().eventId(1L).type(TaskEventType.CREATED).task(taskResponse).build(),
+                TaskEvent.builder().eventId(2L).type(TaskEventType.UPDATED).task(doneTask).build(),
+                TaskEvent.builder().eventId(3L).type(TaskEventType.DELETED).taskId(3L).build()));
+        given(selectionSet.contains("task")).willReturn(true);
+
+        // when
+        var result = taskGraphQLController.taskChanged(Status.TO_DO, selectionSet).collectList().block();
+
+        // then
+        assertThat(result).extracting(TaskGraphQLController.TaskEventGraphQL::taskId).containsExactly(1L, 3L);
+        assertThat(result.get(0).task().title()).isEqualTo("Test Task");
+        assertThat(result.get(1).type()).isEqualTo(TaskEventType.DELETED);
+        assertThat(result.get(1).task()).isNull();
+    }
+
+    @Test
+    @DisplayName("should stream the update of a task leaving the subscribed status")
+    void shouldStreamTaskLeavingStatus() {
+        // given
+        TaskResponse doneTask = TaskResponse.builder().id(2L).title("Done").status(Status.DONE).build();
+        given(subscriptionPublisher.events()).willReturn(Flux.just(
+                TaskEvent.builder().eventId(1L).type(TaskEventType.UPDATED).task(doneTask)
+                        .previousStatus(Status.TO_DO).build(),
+                TaskEvent.builder().eventId(2L).type(TaskEventType.UPDATED).task(doneTask)
+                        .previousStatus(Status.IN_PROGRESS).build()));
+        given(selectionSet.contains("task")).willReturn(true);
+
+        // when
+        var result = taskGraphQLController.taskChanged(Status.TO_DO, selectionSet).collectList().block();
+
+        // then
+        assertThat(result).extracting(TaskGraphQLController.TaskEventGraphQL::eventId).containsExactly(1L);
+        assertThat(result.get(0).previousStatus()).isEqualTo(Status.TO_DO);
+        assertThat(result.get(0).task().status()).isEqualTo(Status.DONE);
+    }
+
+    @Test
+    @DisplayName("should not build the task body when it is not selected")
+    void shouldSkipUnselectedTaskBody() {
+        // given
+        given(subscriptionPublisher.events()).willReturn(Flux.just(
+                TaskEvent.builder().eventId(1L).type(TaskEventType.CREATED).task(taskResponse).build()));
+        given(selectionSet.contains("task")).willReturn(false);
+
+        // when
+        var result = taskGraphQLController.taskChanged(null, selectionSet).blockFirst();
+
+        // then
+        assertThat(result.taskId()).isEqualTo(1L);
+        assertThat(result.task()).isNull();
+    }
+}
@@ -0,0 +1,189 @@
+package com.hivetech.kanban.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"title\":\"Retried task\"}";
+
+    @Mock
+    private IdempotencyStore store;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private IdempotencyFilter filter;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(store, new ObjectMapper().registerModule(new JavaTimeModule()));
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("should execute a new key and store its response")
+    void shouldStoreFirstResponse() throws Exception {
+        // given
+        given(store.claim(eq("ip:127.0.0.1"), eq("key-1"), anyString()))
+                .willReturn(new IdempotencyStore.Claim(IdempotencyStore.ClaimStatus.ACQUIRED, null));
+        willAnswer(invocation -> {
+            // the controller still sees the body that was read for the fingerprint
+            String body = new String(invocation.<ServletRequest>getArgument(0)
+                    .getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            HttpServletResponse chainResponse = invocation.getArgument(1);
+            chainResponse.setStatus(201);
+            chainResponse.setContentType("application/json");
+            chainResponse.getWriter().write(body);
+            return null;
+        }).given(filterChain).doFilter(any(), any());
+
+        // when
+        filter.doFilter(request("POST", "/api/tasks", "key-1"), response, filterChain);
+
+        // then
+        ArgumentCaptor<IdempotencyStore.StoredResponse> stored = ArgumentCaptor.forClass(IdempotencyStore.StoredResponse.class);
+        verify(store).complete(eq("ip:127.0.0.1"), eq("key-1"), anyString(), stored.capture());
+        assertThat(stored.getValue().status()).isEqualTo(201);
+        assertThat(new String(stored.getValue().body(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("should replay the stored response without executing the request")
+    void shouldReplayStoredResponse() throws Exception {
+        // given
+        IdempotencyStore.StoredResponse stored = new IdempotencyStore.StoredResponse(
+                "fingerprint", 201, "application/json", BODY.getBytes(StandardCharsets.UTF_8));
+        given(store.claim(anyString(), eq("key-1"), anyString()))
+                .willReturn(new IdempotencyStore.Claim(IdempotencyStore.ClaimStatus.REPLAY, stored));
+
+        // when
+        filter.doFilter(request("POST", "/api/tasks", "key-1"), response, filterChain);
+
+        // then
+        verify(filterChain, never()).doFilter(any(), any());
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("should reject a key reused for a different request with 422")
+    void shouldRejectFingerprintMismatch() throws Exception {
+        // given
+        given(store.claim(anyString(), eq("key-1"), anyString()))
+                .willReturn(new IdempotencyStore.Claim(IdempotencyStore.ClaimStatus.MISMATCH, null));
+
+        // when
+        filter.doFilter(request("PUT", "/api/tasks/1", "key-1"), response, filterChain);
+
+        // then
+        verify(filterChain, never()).doFilter(any(), any());
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    @DisplayName("should reject a retry while the first request is running with 409")
+    void shouldRejectConcurrentRetry() throws Exception {
+        // given
+        given(store.claim(anyString(), eq("key-1"), anyString()))
+                .willReturn(new IdempotencyStore.Claim(IdempotencyStore.ClaimStatus.IN_PROGRESS, null));
+
+        // when
+        filter.doFilter(request("DELETE", "/api/tasks/1", "key-1"), response, filterChain);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(409);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("should release the key when the request fails")
+    void shouldReleaseOnFailure() throws Exception {
+        // given
+        given(store.claim(anyString(), eq("key-1"), anyString()))
+                .willReturn(new IdempotencyStore.Claim(IdempotencyStore.ClaimStatus.ACQUIRED, null));
+        willThrow(new IllegalStateException("boom")).given(filterChain).doFilter(any(), any());
+
+        // when / then
+        assertThatThrownBy(() -> filter.doFilter(request("PATCH", "/api/tasks/1", "key-1"), response, filterChain))
+                .isInstanceOf(IllegalStateException.class);
+        verify(store).release(eq("ip:127.0.0.1"), eq("key-1"), anyString());
+        verify(store, never()).complete(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("should only apply to task mutations and GraphQL posts that carry a key")
+    void shouldIgnoreOtherRequests() throws Exception {
+        // when
+        filter.doFilter(request("GET", "/api/tasks", "key-1"), response, filterChain);
+        filter.doFilter(request("POST", "/auth/login", "key-1"), response, filterChain);
+        filter.doFilter(request("POST", "/api/tasks", null), response, filterChain);
+
+        // then
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    @DisplayName("should reject invalid keys with 400")
+    void shouldRejectInvalidKey() throws Exception {
+        // when
+        filter.doFilter(request("POST", "/graphql", "key with spaces"), response, filterChain);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(400);
+        verifyNoInteractions(store, filterChain);
+    }
+
+    @Test
+    @DisplayName("should fingerprint method, URI and body")
+    void shouldFingerprintRequest() {
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+
+        assertThat(IdempotencyFilter.fingerprint(request("POST", "/api/tasks", "k"), body))
+                .isEqualTo(IdempotencyFilter.fingerprint(request("POST", "/api/tasks", "k"), body))
+                .isNotEqualTo(IdempotencyFilter.fingerprint(request("PUT", "/api/tasks", "k"), body))
+                .isNotEqualTo(IdempotencyFilter.fingerprint(request("POST", "/api/tasks/1", "k"), body))
+                .isNotEqualTo(IdempotencyFilter.fingerprint(request("POST", "/api/tasks", "k"), new byte[0]));
+    }
+
+    private MockHttpServletRequest request(String method, String uri, String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        request.setContentType("application/json");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        return request;
+    }
+}
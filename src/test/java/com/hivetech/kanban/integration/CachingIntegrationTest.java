@@ -14,6 +14,7 @@ import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -208,6 +209,28 @@ class CachingIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("getTaskSlice Caching")
+    class GetTaskSliceCachingTests {
+
+        @Test
+        @DisplayName("should cache slices by filter")
+        void shouldCacheSlicesByFilter() {
+            // given
+            createAndSaveTask("Todo Task", Status.TO_DO);
+            createAndSaveTask("Done Task", Status.DONE);
+            Pageable pageable = PageRequest.of(0, 10);
+
+            // when
+            Slice<TaskResponse> todoTasks = taskService.getTaskSlice(TaskFilter.ofStatus(Status.TO_DO), pageable);
+            Slice<TaskResponse> doneTasks = taskService.getTaskSlice(TaskFilter.ofStatus(Status.DONE), pageable);
+
+            // then
+            assertThat(todoTasks.getContent()).extracting(TaskResponse::getTitle).containsExactly("Todo Task");
+            assertThat(doneTasks.getContent()).extracting(TaskResponse::getTitle).containsExactly("Done Task");
+        }
+    }
+
     @Nested
     @DisplayName("Cache Eviction on Create")
     class CacheEvictionOnCreateTests {
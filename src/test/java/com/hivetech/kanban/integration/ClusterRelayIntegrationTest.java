@@ -0,0 +1,157 @@
+package com.hivetech.kanban.integration;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hivetech.kanban.KanbanApiApplication;
+import com.hivetech.kanban.dto.TaskRequest;
+import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.service.TaskService;
+import com.hivetech.kanban.websocket.TaskEvent;
+import com.hivetech.kanban.websocket.TaskEventType;
+import org.junit.jupiter.api.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two application nodes against one Postgres database and verifies that
+ * task events produced on one node reach STOMP clients connected to the other.
+ */
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Cluster Relay Integration Tests")
+class ClusterRelayIntegrationTest {
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("kanban_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+    private WebSocketStompClient stompClient;
+
+    @BeforeAll
+    void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    void stopNodes() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        stompClient.setMessageConverter(converter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stompClient.stop();
+    }
+
+    @Test
+    @DisplayName("Should deliver events created on node A to clients of node B")
+    void shouldRelayEventToOtherNode() throws Exception {
+        CompletableFuture<TaskEvent> eventFuture = subscribeOnNodeB();
+
+        TaskResponse created = nodeA.getBean(TaskService.class).createTask(TaskRequest.builder()
+                .title("Cluster Task")
+                .status("TO_DO")
+                .priority("HIGH")
+                .build());
+
+        TaskEvent event = eventFuture.get(10, TimeUnit.SECONDS);
+        assertThat(event.getType()).isEqualTo(TaskEventType.CREATED);
+        assertThat(event.getTask().getId()).isEqualTo(created.getId());
+        assertThat(event.getTask().getTitle()).isEqualTo("Cluster Task");
+    }
+
+    @Test
+    @DisplayName("Should reload tasks whose events exceed the NOTIFY payload limit")
+    void shouldReloadOversizedEvent() throws Exception {
+        CompletableFuture<TaskEvent> eventFuture = subscribeOnNodeB();
+        String description = "ž".repeat(5000);
+
+        nodeA.getBean(TaskService.class).createTask(TaskRequest.builder()
+                .title("Large Cluster Task")
+                .description(description)
+                .status("TO_DO")
+                .priority("LOW")
+                .build());
+
+        TaskEvent event = eventFuture.get(10, TimeUnit.SECONDS);
+        assertThat(event.getTask().getTitle()).isEqualTo("Large Cluster Task");
+        assertThat(event.getTask().getDescription()).isEqualTo(description);
+    }
+
+    private CompletableFuture<TaskEvent> subscribeOnNodeB() throws Exception {
+        CompletableFuture<TaskEvent> eventFuture = new CompletableFuture<>();
+        String port = nodeB.getEnvironment().getProperty("local.server.port");
+
+        StompSession session = stompClient
+                .connectAsync("ws://localhost:" + port + "/ws", new StompSessionHandlerAdapter() {})
+                .get(5, TimeUnit.SECONDS);
+
+        session.subscribe("/topic/tasks", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return TaskEvent.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                eventFuture.complete((TaskEvent) payload);
+            }
+        });
+
+        // Wait a bit for subscription to be established
+        Thread.sleep(1000);
+        return eventFuture;
+    }
+
+    private ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(KanbanApiApplication.class)
+                .profiles("integration")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "cluster.relay.type=postgres")
+                .run();
+    }
+}
@@ -0,0 +1,182 @@
+package com.hivetech.kanban.integration;
+
+import com.hivetech.kanban.config.HibernateCacheConfig;
+import com.hivetech.kanban.dto.TaskUpdateRequest;
+import com.hivetech.kanban.entity.Task;
+import com.hivetech.kanban.enums.Priority;
+import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.repository.TaskRepository;
+import com.hivetech.kanban.repository.UserRepository;
+import com.hivetech.kanban.security.CustomUserDetailsService;
+import com.hivetech.kanban.service.TaskService;
+import com.hivetech.kanban.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the Hibernate second-level cache, counting the SQL statements Hibernate
+ * prepares for repeated entity loads by id and by username.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("integration")
+@DisplayName("Second-Level Cache Integration Tests")
+class SecondLevelCacheIntegrationTest {
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("kanban_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should load a task by id from the database only once")
+    void shouldServeRepeatedTaskLoadsFromCache() {
+        // given
+        Task task = createAndSaveTask("Cached Task");
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        // when
+        taskRepository.findById(task.getId());
+        long statementsAfterFirstLoad = statistics.getPrepareStatementCount();
+        taskRepository.findById(task.getId());
+        taskRepository.findById(task.getId());
+
+        // then
+        assertThat(statementsAfterFirstLoad).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(HibernateCacheConfig.TASK_REGION).getHitCount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should keep the cached task current after an update")
+    void shouldUpdateCachedTaskOnWrite() {
+        // given
+        Task task = createAndSaveTask("Before");
+
+        // when
+        taskService.updateTask(task.getId(), TaskUpdateRequest.builder()
+                .title("After")
+                .status("DONE")
+                .priority("HIGH")
+                .version(task.getVersion())
+                .build());
+        statistics.clear();
+        Task loaded = taskRepository.findById(task.getId()).orElseThrow();
+
+        // then
+        assertThat(loaded.getTitle()).isEqualTo("After");
+        assertThat(loaded.getStatus()).isEqualTo(Status.DONE);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("should resolve usernames through the natural-id cache")
+    void shouldServeUserLookupsFromNaturalIdCache() {
+        // given
+        userService.register("cached-user", "password123");
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        // when
+        userDetailsService.loadUserByUsername("cached-user");
+        long statementsAfterFirstLoad = statistics.getPrepareStatementCount();
+        userDetailsService.loadUserByUsername("cached-user");
+        userDetailsService.loadUserByUsername("cached-user");
+
+        // then
+        assertThat(statementsAfterFirstLoad).isPositive();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstLoad);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should publish cache statistics as Micrometer metrics")
+    void shouldExposeCacheMetrics() {
+        // given
+        Task task = createAndSaveTask("Metered Task");
+
+        // when
+        taskRepository.findById(task.getId());
+
+        // then
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", HibernateCacheConfig.TASK_REGION)
+                .tag("result", "hit")
+                .functionCounter())
+                .isNotNull()
+                .satisfies(counter -> assertThat(counter.count()).isPositive());
+    }
+
+    private Task createAndSaveTask(String title) {
+        Task task = Task.builder()
+                .title(title)
+                .description("Test Description")
+                .status(Status.TO_DO)
+                .priority(Priority.MEDIUM)
+                .build();
+        return taskRepository.saveAndFlush(task);
+    }
+}
@@ -1,20 +1,28 @@
 package com.hivetech.kanban.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hivetech.kanban.controller.TaskController;
 import com.hivetech.kanban.dto.TaskRequest;
 import com.hivetech.kanban.dto.TaskUpdateRequest;
 import com.hivetech.kanban.entity.Task;
+import com.hivetech.kanban.entity.Tsid;
 import com.hivetech.kanban.enums.Priority;
 import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.enums.TaskSortKey;
+import com.hivetech.kanban.idempotency.IdempotencyFilter;
 import com.hivetech.kanban.repository.TaskRepository;
 import com.hivetech.kanban.repository.UserRepository;
 import com.hivetech.kanban.security.JwtTokenProvider;
+import com.hivetech.kanban.service.TaskStatsService;
 import com.hivetech.kanban.service.UserService;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -23,7 +31,22 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -58,6 +81,12 @@ class TaskControllerIntegrationTest {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskStatsService statsService;
+
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
@@ -281,6 +310,390 @@ class TaskControllerIntegrationTest {
                 .andExpect(jsonPath("$.message").value("Malformed JSON request"));
     }
 
+    @Test
+    @Order(13)
+    @DisplayName("GET /api/tasks?ids= - should return tasks in request order and missing ids")
+    void shouldReturnTasksByIds() throws Exception {
+        Task first = createTestTask("First", Status.TO_DO);
+        Task second = createTestTask("Second", Status.DONE);
+        long missingId = second.getId() + 1000;
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("ids", second.getId() + "," + missingId + "," + first.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[0].title").value("Second"))
+                .andExpect(jsonPath("$.tasks[1].title").value("First"))
+                .andExpect(jsonPath("$.missingIds[0]").value(missingId));
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("GET /api/tasks?ids= - should return 400 when too many ids are requested")
+    void shouldReturn400ForTooManyIds() throws Exception {
+        String ids = LongStream.rangeClosed(1, 101)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("ids", ids))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"));
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("GET /api/board - should return every column with its count")
+    void shouldReturnBoard() throws Exception {
+        createTestTask("Old", Status.TO_DO);
+        createTestTask("New", Status.TO_DO);
+        createTestTask("Done", Status.DONE);
+
+        mockMvc.perform(get("/api/board")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.columns.length()").value(3))
+                .andExpect(jsonPath("$.columns[0].status").value("TO_DO"))
+                .andExpect(jsonPath("$.columns[0].count").value(2))
+                .andExpect(jsonPath("$.columns[0].tasks[0].title").value("New"))
+                .andExpect(jsonPath("$.columns[1].count").value(0))
+                .andExpect(jsonPath("$.columns[2].tasks[0].title").value("Done"));
+    }
+
+    @Test
+    @Order(16)
+    @DisplayName("GET /api/tasks/stats - should return counts kept by the counter triggers")
+    void shouldReturnStats() throws Exception {
+        createTestTask("First", Status.TO_DO);
+        createTestTask("Second", Status.TO_DO);
+        Task moved = createTestTask("Third", Status.TO_DO);
+        moved.setStatus(Status.DONE);
+        taskRepository.saveAndFlush(moved);
+
+        mockMvc.perform(get("/api/tasks/stats")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byStatus.TO_DO").value(2))
+                .andExpect(jsonPath("$.byStatus.DONE").value(1))
+                .andExpect(jsonPath("$.byPriority.MEDIUM").value(3))
+                .andExpect(jsonPath("$.byStatusAndPriority.DONE.MEDIUM").value(1));
+
+        // Folding moves the appended deltas into the counters without changing the totals
+        statsService.foldCounterDeltas();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_counter_deltas", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT task_count FROM task_counter_totals WHERE status = 'DONE' AND priority = 'MEDIUM'", Long.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("GET /api/tasks?slice=true - should page without totals")
+    void shouldReturnSliceWithoutTotals() throws Exception {
+        createTestTask("First", Status.TO_DO);
+        createTestTask("Second", Status.TO_DO);
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("slice", "true")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.taskResponseList.length()").value(1))
+                .andExpect(jsonPath("$.page.number").value(0))
+                .andExpect(jsonPath("$.page.totalElements").doesNotExist())
+                .andExpect(jsonPath("$._links.next.href").exists())
+                .andExpect(jsonPath("$._links.prev").doesNotExist());
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("GET /api/tasks?exactCount=false - should count small tables exactly")
+    void shouldCountSmallTablesExactly() throws Exception {
+        createTestTask("First", Status.TO_DO);
+        createTestTask("Second", Status.DONE);
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("exactCount", "false"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TaskController.TOTAL_COUNT_APPROXIMATE_HEADER, "false"))
+                .andExpect(jsonPath("$.page.totalElements").value(2));
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("GET /api/tasks/search - should rank and highlight full-text matches")
+    void shouldSearchTasks() throws Exception {
+        createTestTask("Fix login redirect", Status.TO_DO);
+        createTestTask("Login page styling", Status.DONE);
+        createTestTask("Update dependencies", Status.TO_DO);
+
+        mockMvc.perform(get("/api/tasks/search")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("q", "login")
+                        .param("status", "TO_DO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits.length()").value(1))
+                .andExpect(jsonPath("$.hits[0].task.title").value("Fix login redirect"))
+                .andExpect(jsonPath("$.hits[0].titleHighlight").value("Fix <mark>login</mark> redirect"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/tasks/search")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("q", "login")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").exists());
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("GET /api/tasks - should combine status, priority and title filters")
+    void shouldCombineFilters() throws Exception {
+        createTestTask("Fix login redirect", Status.TO_DO);
+        createTestTask("Login page styling", Status.IN_PROGRESS);
+        createTestTask("Login audit", Status.DONE);
+        createTestTask("Update dependencies", Status.TO_DO);
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("status", "TO_DO", "IN_PROGRESS")
+                        .param("priority", "MEDIUM")
+                        .param("title", "LOGIN")
+                        .param("createdFrom", LocalDateTime.now().minusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(2))
+                .andExpect(jsonPath("$._embedded.taskResponseList[*].title",
+                        containsInAnyOrder("Fix login redirect", "Login page styling")));
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("title", "lo"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("GET /api/tasks - should reject unsupported sorts and break ties by id")
+    void shouldOnlyAcceptSupportedSorts() throws Exception {
+        createTestTask("Beta", Status.TO_DO);
+        createTestTask("Alpha", Status.TO_DO);
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("sort", "description,asc"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("sort", "title,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.taskResponseList[0].title").value("Alpha"))
+                .andExpect(jsonPath("$._embedded.taskResponseList[1].title").value("Beta"));
+    }
+
+    @Test
+    @Order(22)
+    @DisplayName("Every supported sort should be read from an index, without a sort step")
+    void shouldServeSupportedSortsFromIndexes() {
+        List<String> plans = new ArrayList<>();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                // Make the planner prefer an index whenever one can produce the order, even on a small table
+                statement.execute("SET enable_seqscan = off");
+                statement.execute("SET enable_sort = off");
+                for (TaskSortKey key : TaskSortKey.values()) {
+                    for (Sort.Direction direction : Sort.Direction.values()) {
+                        String orderBy = key.toSort(direction).stream()
+                                .map(order -> order.getProperty().replaceAll("([A-Z])", "_$1").toLowerCase() + " " + direction)
+                                .collect(Collectors.joining(", "));
+                        for (String where : List.of("", "WHERE status = 'TO_DO' ")) {
+                            StringBuilder plan = new StringBuilder(key + " " + direction + " " + where + ":");
+                            try (ResultSet rows = statement.executeQuery(
+                                    "EXPLAIN SELECT * FROM tasks " + where + "ORDER BY " + orderBy + " LIMIT 20")) {
+                                while (rows.next()) {
+                                    plan.append('\n').append(rows.getString(1));
+                                }
+                            }
+                            plans.add(plan.toString());
+                        }
+                    }
+                }
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("RESET ALL");
+                }
+            }
+            return null;
+        });
+
+        assertThat(plans).allSatisfy(plan -> assertThat(plan).contains("Index").doesNotContain("Sort"));
+    }
+
+    @Test
+    @Order(23)
+    @DisplayName("POST /api/tasks - should create tasks under client-assigned ids and reject taken ones")
+    void shouldAcceptClientAssignedIds() throws Exception {
+        Task generated = createTestTask("Generated", Status.TO_DO);
+        assertThat(Tsid.timestampMillis(generated.getId())).isCloseTo(System.currentTimeMillis(), within(60_000L));
+
+        long clientId = (generated.getId() | (long) Tsid.CLIENT_NODE_ID << 8) + 1;
+        TaskRequest request = TaskRequest.builder()
+                .id(clientId)
+                .title("Created offline")
+                .status("TO_DO")
+                .priority("LOW")
+                .build();
+
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(clientId));
+
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+
+        request.setId(generated.getId());
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(24)
+    @DisplayName("POST /api/tasks - should create a task once per Idempotency-Key and replay the response")
+    void shouldReplayIdempotentCreate() throws Exception {
+        long before = taskRepository.count();
+        TaskRequest request = TaskRequest.builder()
+                .title("Retried over a flaky network")
+                .status("TO_DO")
+                .priority("HIGH")
+                .build();
+
+        String first = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(content().json(first, true));
+
+        assertThat(taskRepository.count()).isEqualTo(before + 1);
+
+        request.setTitle("A different task");
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT response_status FROM idempotency_keys WHERE idempotency_key = ?", Integer.class, "create-retry-1"))
+                .isEqualTo(201);
+    }
+
+    @Test
+    @Order(25)
+    @DisplayName("GET /api/tasks?slice=true - should apply every filter and keep them in the page links")
+    void shouldSliceWithFilters() throws Exception {
+        createTestTask("Sliced alpha one", Status.TO_DO);
+        createTestTask("Sliced alpha two", Status.TO_DO);
+        createTestTask("Sliced alpha three", Status.DONE);
+        createTestTask("Sliced beta", Status.TO_DO);
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("slice", "true")
+                        .param("status", "TO_DO")
+                        .param("title", "alpha")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.taskResponseList.length()").value(1))
+                .andExpect(jsonPath("$._embedded.taskResponseList[0].title").value(containsString("alpha")))
+                .andExpect(jsonPath("$._links.next.href").value(containsString("title=alpha")))
+                .andExpect(jsonPath("$._links.next.href").value(containsString("status=TO_DO")));
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("slice", "true")
+                        .param("title", "alpha")
+                        .param("priority", "HIGH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded").doesNotExist());
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("slice", "true")
+                        .param("title", "ab"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(26)
+    @DisplayName("GET /api/tasks/search - should escape markup in highlights")
+    void shouldEscapeSearchHighlights() throws Exception {
+        createTestTask("Login <img src=x onerror=alert(1)> & \"quotes\"", Status.TO_DO);
+
+        mockMvc.perform(get("/api/tasks/search")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("q", "login"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits[0].titleHighlight").value(allOf(
+                        startsWith("<mark>Login</mark>"),
+                        containsString("&lt;img src=x onerror=alert(1)&gt; &amp; &quot;quotes&quot;"),
+                        not(containsString("<img")))));
+    }
+
+    @Test
+    @Order(27)
+    @DisplayName("GET /api/tasks - should sort priorities by rank, not by name")
+    void shouldSortPrioritiesByRank() throws Exception {
+        for (Priority priority : List.of(Priority.HIGH, Priority.LOW, Priority.MEDIUM)) {
+            taskRepository.saveAndFlush(Task.builder()
+                    .title(priority.name())
+                    .status(Status.TO_DO)
+                    .priority(priority)
+                    .build());
+        }
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("sort", "priority,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.taskResponseList[*].priority",
+                        contains("LOW", "MEDIUM", "HIGH")));
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("slice", "true")
+                        .param("status", "TO_DO")
+                        .param("sort", "priority,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.taskResponseList[*].priority",
+                        contains("HIGH", "MEDIUM", "LOW")));
+    }
+
     private Task createTestTask(String title, Status status) {
         Task task = Task.builder()
                 .title(title)
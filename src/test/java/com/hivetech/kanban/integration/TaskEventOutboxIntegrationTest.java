@@ -0,0 +1,154 @@
+package com.hivetech.kanban.integration;
+
+import com.hivetech.kanban.dto.TaskRequest;
+import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.entity.TaskEventRecord;
+import com.hivetech.kanban.repository.TaskEventRecordRepository;
+import com.hivetech.kanban.repository.TaskRepository;
+import com.hivetech.kanban.service.TaskService;
+import com.hivetech.kanban.websocket.TaskEventType;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the task_events outbox:
+ * - Events are recorded in the same transaction as the task change
+ * - Rolled back changes leave no events behind
+ * - Recorded events are relayed and marked as published
+ * - Publish sequences follow commit order, not outbox id order
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("integration")
+@DisplayName("Task Event Outbox Integration Tests")
+class TaskEventOutboxIntegrationTest {
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("kanban_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskEventRecordRepository eventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should record and publish an event for a committed change")
+    void shouldRecordAndPublishCommittedChange() throws Exception {
+        TaskResponse created = taskService.createTask(taskRequest("Outbox Task"));
+
+        List<TaskEventRecord> events = awaitPublished(1);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getTaskId()).isEqualTo(created.getId());
+        assertThat(events.get(0).getEventType()).isEqualTo(TaskEventType.CREATED);
+        assertThat(events.get(0).getPublishedAt()).isNotNull();
+        assertThat(events.get(0).getPublishSequence()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should not record an event when the change is rolled back")
+    void shouldNotRecordRolledBackChange() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            taskService.createTask(taskRequest("Rolled Back Task"));
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(eventRepository.count()).isZero();
+        assertThat(taskRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should number events in commit order when a lower id commits later")
+    void shouldSequenceEventsInCommitOrder() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        // The first transaction takes the lower outbox id but commits last
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            taskService.createTask(taskRequest("Slow Task"));
+            recorded.countDown();
+            try {
+                commit.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(recorded.await(10, TimeUnit.SECONDS)).isTrue();
+
+        TaskRequest fast = taskRequest("Fast Task");
+        fast.setStatus("DONE");
+        taskService.createTask(fast);
+        awaitPublished(1);
+
+        commit.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+        List<TaskEventRecord> events = awaitPublished(2);
+
+        TaskEventRecord slowEvent = events.stream().filter(e -> e.getPayload().contains("Slow Task")).findFirst().orElseThrow();
+        TaskEventRecord fastEvent = events.stream().filter(e -> e.getPayload().contains("Fast Task")).findFirst().orElseThrow();
+        assertThat(slowEvent.getId()).isLessThan(fastEvent.getId());
+        assertThat(slowEvent.getPublishSequence()).isGreaterThan(fastEvent.getPublishSequence());
+    }
+
+    private List<TaskEventRecord> awaitPublished(int expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            List<TaskEventRecord> events = eventRepository.findAll();
+            if (events.size() == expected && events.stream().allMatch(e -> e.getPublishedAt() != null)) {
+                return events;
+            }
+            Thread.sleep(100);
+        }
+        return eventRepository.findAll();
+    }
+
+    private TaskRequest taskRequest(String title) {
+        return TaskRequest.builder()
+                .title(title)
+                .status("TO_DO")
+                .priority("MEDIUM")
+                .build();
+    }
+}
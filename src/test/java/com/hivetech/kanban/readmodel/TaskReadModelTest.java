@@ -0,0 +1,194 @@
+package com.hivetech.kanban.readmodel;
+
+import com.hivetech.kanban.dto.BoardResponse;
+import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.entity.Task;
+import com.hivetech.kanban.enums.Priority;
+import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.enums.TaskSortKey;
+import com.hivetech.kanban.mapper.TaskMapper;
+import com.hivetech.kanban.repository.TaskRepository;
+import com.hivetech.kanban.websocket.TaskEvent;
+import com.hivetech.kanban.websocket.TaskEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TaskReadModelTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        readModel = new TaskReadModel(taskRepository, taskMapper, transactionManager, meterRegistry, true, 2);
+        lenient().when(taskMapper.toResponse(any(Task.class))).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            return response(task.getId(), task.getStatus(), task.getPriority(), task.getVersion(), task.getCreatedAt());
+        });
+    }
+
+    @Test
+    @DisplayName("should load all tasks in batches and serve sorted pages per status")
+    void shouldLoadAndServePages() {
+        // given
+        givenTasks(
+                task(1L, Status.TO_DO, Priority.LOW, 1),
+                task(2L, Status.TO_DO, Priority.HIGH, 2),
+                task(3L, Status.DONE, Priority.MEDIUM, 3));
+
+        // when
+        readModel.load();
+
+        // then
+        assertThat(readModel.isServing()).isTrue();
+        Page<TaskResponse> newest = readModel.findAll(Status.TO_DO,
+                PageRequest.of(0, 1, TaskSortKey.CREATED_AT.toSort(Sort.Direction.DESC)));
+        assertThat(newest.getContent()).extracting(TaskResponse::getId).containsExactly(2L);
+        assertThat(newest.getTotalElements()).isEqualTo(2);
+
+        Page<TaskResponse> byPriority = readModel.findAll(null, PageRequest.of(0, 10, TaskSortKey.PRIORITY.toSort(Sort.Direction.ASC)));
+        assertThat(byPriority.getContent()).extracting(TaskResponse::getId).containsExactly(1L, 3L, 2L);
+
+        assertThat(readModel.findAll(null, PageRequest.of(0, 10, TaskSortKey.TITLE.toSort(Sort.Direction.ASC)))).isNull();
+    }
+
+    @Test
+    @DisplayName("should move tasks between indexes on events and ignore stale versions")
+    void shouldApplyEvents() {
+        // given
+        givenTasks(task(1L, Status.TO_DO, Priority.LOW, 1), task(2L, Status.TO_DO, Priority.LOW, 2));
+        readModel.load();
+
+        // when
+        readModel.onTaskEvent(updated(response(1L, Status.DONE, Priority.LOW, 1L, NOW.plusMinutes(1))));
+        readModel.onTaskEvent(updated(response(1L, Status.IN_PROGRESS, Priority.LOW, 0L, NOW.plusMinutes(1))));
+        readModel.onTaskEvent(TaskEvent.builder().type(TaskEventType.DELETED).taskId(2L).build());
+
+        // then
+        BoardResponse board = readModel.getBoard(10);
+        assertThat(board.getColumns()).extracting(BoardResponse.Column::getCount).containsExactly(0L, 0L, 1L);
+        assertThat(readModel.findById(1L).getStatus()).isEqualTo(Status.DONE);
+        assertThat(readModel.findById(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("should repair drift from the database when reconciling")
+    void shouldReconcile() {
+        // given
+        givenTasks(task(1L, Status.TO_DO, Priority.LOW, 1), task(2L, Status.TO_DO, Priority.LOW, 2));
+        readModel.load();
+        Task changed = task(1L, Status.DONE, Priority.LOW, 1);
+        changed.setVersion(3L);
+        TaskRepository.TaskVersionView current = version(1L, 3L);
+        given(taskRepository.findVersionsAfter(0L, Limit.of(2))).willReturn(List.of(current));
+        given(taskRepository.findAllById(Set.of(1L))).willReturn(List.of(changed));
+        given(taskRepository.findStatusesByIds(Set.of(2L))).willReturn(List.of());
+
+        // when
+        readModel.reconcile();
+
+        // then
+        assertThat(readModel.findById(1L).getStatus()).isEqualTo(Status.DONE);
+        assertThat(readModel.findById(2L)).isNull();
+        assertThat(meterRegistry.counter("read_model.repairs").count()).isEqualTo(2);
+        // Read-write transactions keep the comparison on the primary, a lagging replica would drop new tasks
+        verify(transactionManager, atLeastOnce()).getTransaction(argThat(definition -> !definition.isReadOnly()));
+        verify(transactionManager, never()).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    @DisplayName("should not serve anything while disabled")
+    void shouldStayIdleWhenDisabled() {
+        // given
+        TaskReadModel disabled = new TaskReadModel(taskRepository, taskMapper, transactionManager, meterRegistry, false, 2);
+
+        // when
+        disabled.load();
+        disabled.onTaskEvent(updated(response(1L, Status.DONE, Priority.LOW, 1L, NOW)));
+
+        // then
+        assertThat(disabled.isServing()).isFalse();
+        assertThat(disabled.findById(1L)).isNull();
+    }
+
+    private void givenTasks(Task... tasks) {
+        // Batch size 2: a full first batch, then the rest
+        List<Task> all = List.of(tasks);
+        given(taskRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).willReturn(all.subList(0, Math.min(2, all.size())));
+        if (all.size() >= 2) {
+            given(taskRepository.findByIdGreaterThanOrderByIdAsc(all.get(1).getId(), Limit.of(2)))
+                    .willReturn(all.subList(2, all.size()));
+        }
+    }
+
+    private static TaskEvent updated(TaskResponse task) {
+        return TaskEvent.builder().type(TaskEventType.UPDATED).task(task).build();
+    }
+
+    private static TaskRepository.TaskVersionView version(Long id, Long version) {
+        TaskRepository.TaskVersionView view = mock(TaskRepository.TaskVersionView.class);
+        given(view.getId()).willReturn(id);
+        given(view.getVersion()).willReturn(version);
+        return view;
+    }
+
+    private static Task task(Long id, Status status, Priority priority, int minutes) {
+        return Task.builder()
+                .id(id)
+                .title("Task " + id)
+                .status(status)
+                .priority(priority)
+                .version(0L)
+                .createdAt(NOW.plusMinutes(minutes))
+                .build();
+    }
+
+    private static TaskResponse response(Long id, Status status, Priority priority, Long version, LocalDateTime createdAt) {
+        return TaskResponse.builder()
+                .id(id)
+                .title("Task " + id)
+                .status(status)
+                .priority(priority)
+                .version(version)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.hivetech.kanban.readmodel;
+
+import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.dto.TaskSuggestion;
+import com.hivetech.kanban.enums.Priority;
+import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.repository.TaskRepository;
+import com.hivetech.kanban.websocket.TaskEvent;
+import com.hivetech.kanban.websocket.TaskEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class TaskTitleIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final SpelAwareProxyProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskTitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new TaskTitleIndex(taskRepository, transactionManager, meterRegistry, 4, 64, 2);
+    }
+
+    @Test
+    @DisplayName("should load titles in batches and match anywhere in the title")
+    void shouldLoadAndMatchInfix() {
+        // given
+        given(taskRepository.findTitlesAfter(eq(0L), any(Limit.class))).willReturn(List.of(
+                title(1L, "Fix login redirect", Priority.LOW, 1),
+                title(2L, "Update dependencies", Priority.LOW, 2)));
+        given(taskRepository.findTitlesAfter(eq(2L), any(Limit.class))).willReturn(List.of(
+                title(3L, "Blogin widget", Priority.LOW, 3)));
+
+        // when
+        index.load();
+
+        // then
+        assertThat(index.suggest("LOGIN", 10)).extracting(TaskSuggestion::getId).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.suggest("depend", 10)).extracting(TaskSuggestion::getTitle).containsExactly("Update dependencies");
+        assertThat(index.suggest("xyz", 10)).isEmpty();
+        assertThat(meterRegistry.get("title_index.tasks").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should match word starts for short queries")
+    void shouldMatchWordStartsForShortQueries() {
+        // given
+        index.onTaskEvent(created(1L, "Fix login", Priority.LOW, 1));
+        index.onTaskEvent(created(2L, "Blog post", Priority.LOW, 2));
+
+        // when / then
+        assertThat(index.suggest("lo", 10)).extracting(TaskSuggestion::getId).containsExactly(1L);
+        assertThat(index.suggest("b", 10)).extracting(TaskSuggestion::getId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("should rank title prefix matches first, then by priority and recency")
+    void shouldRankMatches() {
+        // given
+        index.onTaskEvent(created(1L, "Old report", Priority.HIGH, 1));
+        index.onTaskEvent(created(2L, "New report", Priority.HIGH, 2));
+        index.onTaskEvent(created(3L, "Low report", Priority.LOW, 3));
+        index.onTaskEvent(created(4L, "Report archive", Priority.LOW, 4));
+
+        // when
+        List<TaskSuggestion> suggestions = index.suggest("report", 3);
+
+        // then
+        assertThat(suggestions).extracting(TaskSuggestion::getId).containsExactly(4L, 2L, 1L);
+    }
+
+    @Test
+    @DisplayName("should follow renames and deletions and ignore stale versions")
+    void shouldApplyEvents() {
+        // given
+        index.onTaskEvent(created(1L, "Draft plan", Priority.LOW, 1));
+
+        // when
+        index.onTaskEvent(event(TaskEventType.UPDATED, 1L, "Final plan", 1L, 1));
+        index.onTaskEvent(event(TaskEventType.UPDATED, 1L, "Stale plan", 0L, 1));
+
+        // then
+        assertThat(index.suggest("draft", 10)).isEmpty();
+        assertThat(index.suggest("plan", 10)).extracting(TaskSuggestion::getTitle).containsExactly("Final plan");
+
+        // when
+        index.onTaskEvent(TaskEvent.builder().type(TaskEventType.DELETED).taskId(1L).build());
+
+        // then
+        assertThat(index.suggest("plan", 10)).isEmpty();
+        assertThat(index.estimatedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("should evict the oldest tasks once over the memory budget")
+    void shouldEvictOldestOverBudget() {
+        // given - one shard with a budget of zero bytes keeps only the task just added
+        meterRegistry = new SimpleMeterRegistry();
+        index = new TaskTitleIndex(taskRepository, transactionManager, meterRegistry, 1, 0, 2);
+
+        // when
+        index.onTaskEvent(created(1L, "First task", Priority.LOW, 1));
+        index.onTaskEvent(created(2L, "Second task", Priority.LOW, 2));
+
+        // then
+        assertThat(index.suggest("task", 10)).isEmpty();
+        assertThat(meterRegistry.get("title_index.evictions").counter().count()).isEqualTo(2);
+    }
+
+    private static TaskRepository.TaskTitleView title(Long id, String title, Priority priority, int minutes) {
+        return PROJECTIONS.createProjection(TaskRepository.TaskTitleView.class, Map.of(
+                "id", id,
+                "title", title,
+                "status", Status.TO_DO,
+                "priority", priority,
+                "version", 0L,
+                "createdAt", NOW.plusMinutes(minutes)));
+    }
+
+    private static TaskEvent created(Long id, String title, Priority priority, int minutes) {
+        TaskEvent event = event(TaskEventType.CREATED, id, title, 0L, minutes);
+        event.getTask().setPriority(priority);
+        return event;
+    }
+
+    private static TaskEvent event(TaskEventType type, Long id, String title, Long version, int minutes) {
+        return TaskEvent.builder()
+                .type(type)
+                .task(TaskResponse.builder()
+                        .id(id)
+                        .title(title)
+                        .status(Status.TO_DO)
+                        .priority(Priority.LOW)
+                        .version(version)
+                        .createdAt(NOW.plusMinutes(minutes))
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,239 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.dto.BoardResponse;
+import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.entity.Task;
+import com.hivetech.kanban.enums.Priority;
+import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.mapper.TaskMapper;
+import com.hivetech.kanban.readmodel.TaskReadModel;
+import com.hivetech.kanban.repository.TaskEventRecordRepository;
+import com.hivetech.kanban.repository.TaskRepository;
+import com.hivetech.kanban.websocket.TaskEvent;
+import com.hivetech.kanban.websocket.TaskEventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BoardServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskEventRecordRepository eventRepository;
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    @Mock
+    private TaskReadModel readModel;
+
+    private BoardService boardService;
+
+    @BeforeEach
+    void setUp() {
+        boardService = new BoardService(taskRepository, eventRepository, taskMapper, readModel,
+                mock(PlatformTransactionManager.class), 2);
+        given(taskMapper.toResponse(any(Task.class))).willAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            return response(task.getId(), task.getStatus(), task.getVersion(), task.getCreatedAt());
+        });
+    }
+
+    @Test
+    @DisplayName("should load the newest tasks and counts of every column")
+    void shouldLoadBoard() {
+        // given
+        givenBoard(10L, List.of(
+                        task(1L, Status.TO_DO, 1), task(2L, Status.TO_DO, 2), task(3L, Status.DONE, 3)),
+                count(Status.TO_DO, 2L), count(Status.DONE, 7L));
+
+        // when
+        BoardResponse board = boardService.getBoard();
+
+        // then
+        assertThat(board.getColumns()).extracting(BoardResponse.Column::getStatus, BoardResponse.Column::getCount)
+                .containsExactly(
+                        tuple(Status.TO_DO, 2L),
+                        tuple(Status.IN_PROGRESS, 0L),
+                        tuple(Status.DONE, 7L));
+        assertThat(column(board, Status.TO_DO)).extracting(TaskResponse::getId).containsExactly(2L, 1L);
+        verify(taskRepository).findNewestPerStatus(4);
+    }
+
+    @Test
+    @DisplayName("should move tasks between columns without reloading")
+    void shouldApplyEventsInPlace() {
+        // given
+        givenBoard(10L, List.of(task(1L, Status.TO_DO, 1), task(2L, Status.TO_DO, 2)), count(Status.TO_DO, 2L));
+        boardService.getBoard();
+
+        // when
+        boardService.onTaskEvent(TaskEvent.builder()
+                .sequence(11L)
+                .type(TaskEventType.UPDATED)
+                .task(response(1L, Status.IN_PROGRESS, 1L, NOW.plusMinutes(1)))
+                .previousStatus(Status.TO_DO)
+                .build());
+        boardService.onTaskEvent(TaskEvent.builder()
+                .sequence(12L)
+                .type(TaskEventType.CREATED)
+                .task(response(5L, Status.TO_DO, 0L, NOW.plusMinutes(5)))
+                .build());
+        BoardResponse board = boardService.getBoard();
+
+        // then
+        assertThat(column(board, Status.TO_DO)).extracting(TaskResponse::getId).containsExactly(5L, 2L);
+        assertThat(column(board, Status.IN_PROGRESS)).extracting(TaskResponse::getId).containsExactly(1L);
+        assertThat(board.getColumns()).extracting(BoardResponse.Column::getCount).containsExactly(2L, 1L, 0L);
+        verify(taskRepository, times(1)).findNewestPerStatus(4);
+    }
+
+    @Test
+    @DisplayName("should ignore events already contained in the loaded board and stale versions")
+    void shouldIgnoreOldEvents() {
+        // given
+        givenBoard(10L, List.of(task(1L, Status.TO_DO, 1)), count(Status.TO_DO, 1L));
+        boardService.getBoard();
+
+        // when
+        boardService.onTaskEvent(TaskEvent.builder()
+                .sequence(9L)
+                .type(TaskEventType.DELETED)
+                .taskId(1L)
+                .previousStatus(Status.TO_DO)
+                .build());
+        boardService.onTaskEvent(TaskEvent.builder()
+                .sequence(11L)
+                .type(TaskEventType.UPDATED)
+                .task(response(1L, Status.DONE, 0L, NOW.plusMinutes(1)))
+                .previousStatus(Status.TO_DO)
+                .build());
+
+        // then
+        BoardResponse board = boardService.getBoard();
+        assertThat(column(board, Status.TO_DO)).extracting(TaskResponse::getId).containsExactly(1L);
+        assertThat(board.getColumns()).extracting(BoardResponse.Column::getCount).containsExactly(1L, 0L, 0L);
+    }
+
+    @Test
+    @DisplayName("should apply an event with a lower outbox id that committed after the board was loaded")
+    void shouldApplyEventsCommittedAfterLoad() {
+        // given - event 42 was committed but unpublished at load time, event 7 was still in flight
+        givenBoard(10L, List.of(42L),
+                List.of(task(1L, Status.TO_DO, 1), task(2L, Status.TO_DO, 2)), count(Status.TO_DO, 2L));
+        boardService.getBoard();
+
+        // when
+        boardService.onTaskEvent(TaskEvent.builder()
+                .eventId(42L)
+                .sequence(11L)
+                .type(TaskEventType.DELETED)
+                .taskId(3L)
+                .previousStatus(Status.TO_DO)
+                .build());
+        boardService.onTaskEvent(TaskEvent.builder()
+                .eventId(7L)
+                .sequence(12L)
+                .type(TaskEventType.UPDATED)
+                .task(response(1L, Status.DONE, 1L, NOW.plusMinutes(1)))
+                .previousStatus(Status.TO_DO)
+                .build());
+
+        // then
+        BoardResponse board = boardService.getBoard();
+        assertThat(column(board, Status.TO_DO)).extracting(TaskResponse::getId).containsExactly(2L);
+        assertThat(column(board, Status.DONE)).extracting(TaskResponse::getId).containsExactly(1L);
+        assertThat(board.getColumns()).extracting(BoardResponse.Column::getCount).containsExactly(1L, 0L, 1L);
+        verify(taskRepository, times(1)).findNewestPerStatus(4);
+    }
+
+    @Test
+    @DisplayName("should reload once a column runs out of spare tasks")
+    void shouldReloadWhenColumnIsExhausted() {
+        // given - 10 tasks in the column, but only one of them loaded
+        givenBoard(10L, List.of(task(1L, Status.TO_DO, 1)), count(Status.TO_DO, 10L));
+        boardService.getBoard();
+
+        // when
+        boardService.onTaskEvent(TaskEvent.builder()
+                .sequence(11L)
+                .type(TaskEventType.DELETED)
+                .taskId(1L)
+                .previousStatus(Status.TO_DO)
+                .build());
+        boardService.getBoard();
+
+        // then
+        verify(taskRepository, times(2)).findNewestPerStatus(4);
+    }
+
+    private void givenBoard(Long watermark, List<Task> tasks, TaskRepository.StatusCount... counts) {
+        givenBoard(watermark, List.of(), tasks, counts);
+    }
+
+    private void givenBoard(Long watermark, List<Long> unpublishedEventIds, List<Task> tasks,
+                            TaskRepository.StatusCount... counts) {
+        given(eventRepository.findMaxPublishSequence()).willReturn(Optional.of(watermark));
+        given(eventRepository.findUnpublishedIds()).willReturn(unpublishedEventIds);
+        given(taskRepository.findNewestPerStatus(4)).willReturn(tasks);
+        given(taskRepository.countByStatus()).willReturn(List.of(counts));
+    }
+
+    private static TaskRepository.StatusCount count(Status status, Long count) {
+        TaskRepository.StatusCount statusCount = mock(TaskRepository.StatusCount.class);
+        given(statusCount.getStatus()).willReturn(status);
+        given(statusCount.getCount()).willReturn(count);
+        return statusCount;
+    }
+
+    private static List<TaskResponse> column(BoardResponse board, Status status) {
+        return board.getColumns().stream()
+                .filter(column -> column.getStatus() == status)
+                .findFirst()
+                .orElseThrow()
+                .getTasks();
+    }
+
+    private static Task task(Long id, Status status, int minutes) {
+        return Task.builder()
+                .id(id)
+                .title("Task " + id)
+                .status(status)
+                .priority(Priority.MEDIUM)
+                .version(0L)
+                .createdAt(NOW.plusMinutes(minutes))
+                .build();
+    }
+
+    private static TaskResponse response(Long id, Status status, Long version, LocalDateTime createdAt) {
+        return TaskResponse.builder()
+                .id(id)
+                .title("Task " + id)
+                .status(status)
+                .priority(Priority.MEDIUM)
+                .version(version)
+                .createdAt(createdAt)
+                .build();
+    }
+}
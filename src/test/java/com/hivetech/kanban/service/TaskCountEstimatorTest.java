@@ -0,0 +1,87 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.repository.TaskRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCountEstimatorTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Test
+    @DisplayName("should estimate tables at or above the threshold")
+    void shouldEstimateLargeTables() throws SQLException {
+        // given
+        TaskCountEstimator estimator = estimator("PostgreSQL");
+        given(taskRepository.estimateCount()).willReturn(5000L);
+
+        // when / then
+        assertThat(estimator.estimateTaskCount()).hasValue(5000);
+    }
+
+    @Test
+    @DisplayName("should count small and never analyzed tables exactly")
+    void shouldNotEstimateSmallTables() throws SQLException {
+        // given
+        TaskCountEstimator estimator = estimator("PostgreSQL");
+        given(taskRepository.estimateCount()).willReturn(999L, -1L);
+
+        // when / then
+        assertThat(estimator.estimateTaskCount()).isEmpty();
+        assertThat(estimator.estimateTaskCount()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should never ask databases without planner statistics")
+    void shouldNotEstimateOtherDatabases() throws SQLException {
+        // given
+        TaskCountEstimator estimator = estimator("H2");
+
+        // when / then
+        assertThat(estimator.estimateTaskCount()).isEmpty();
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("should fall back to an exact count only for the call that failed")
+    void shouldFallBackPerCall() throws SQLException {
+        // given
+        TaskCountEstimator estimator = estimator("PostgreSQL");
+        given(taskRepository.estimateCount())
+                .willThrow(new QueryTimeoutException("canceling statement due to statement timeout"))
+                .willReturn(5000L);
+
+        // when / then
+        assertThat(estimator.estimateTaskCount()).isEmpty();
+        assertThat(estimator.estimateTaskCount()).hasValue(5000);
+        verify(taskRepository, times(2)).estimateCount();
+    }
+
+    private TaskCountEstimator estimator(String databaseProduct) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        given(dataSource.getConnection()).willReturn(connection);
+        given(connection.getMetaData()).willReturn(metaData);
+        given(metaData.getDatabaseProductName()).willReturn(databaseProduct);
+        return new TaskCountEstimator(taskRepository, dataSource, 1000);
+    }
+}
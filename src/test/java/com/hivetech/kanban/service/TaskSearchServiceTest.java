@@ -0,0 +1,118 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.dto.TaskSearchResponse;
+import com.hivetech.kanban.enums.Priority;
+import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.exception.BadRequestException;
+import com.hivetech.kanban.repository.TaskRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchServiceTest {
+
+    private static final SpelAwareProxyProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskService taskService;
+
+    @InjectMocks
+    private TaskSearchService searchService;
+
+    @Test
+    @DisplayName("should return ranked hits with highlights and a cursor for the next page")
+    void shouldReturnRankedHits() {
+        // given
+        given(taskRepository.search("login", "TO_DO", null, null, null, 3)).willReturn(List.of(
+                hit(7L, 0.9f), hit(3L, 0.5f), hit(5L, 0.1f)));
+        given(taskService.getTasksByIds(List.of(7L, 3L))).willReturn(Map.of(
+                7L, task(7L), 3L, task(3L)));
+
+        // when
+        TaskSearchResponse result = searchService.search("login", Status.TO_DO, null, null, 2);
+
+        // then
+        assertThat(result.getHits())
+                .extracting(hit -> hit.getTask().getId(), TaskSearchResponse.Hit::getRank, TaskSearchResponse.Hit::getSnippet)
+                .containsExactly(tuple(7L, 0.9f, "snippet 7"), tuple(3L, 0.5f, "snippet 3"));
+        assertThat(result.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should continue after the cursor position")
+    void shouldContinueAfterCursor() {
+        // given
+        given(taskRepository.search("login", null, null, 0.5f, 3L, 3)).willReturn(List.of(hit(5L, 0.1f)));
+        given(taskService.getTasksByIds(List.of(5L))).willReturn(Map.of(5L, task(5L)));
+        String cursor = new TaskSearchService.Cursor(0.5f, 3L).encode();
+
+        // when
+        TaskSearchResponse result = searchService.search("login", null, null, cursor, 2);
+
+        // then
+        assertThat(result.getHits()).extracting(hit -> hit.getTask().getId()).containsExactly(5L);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("should skip tasks deleted since the search")
+    void shouldSkipDeletedTasks() {
+        // given
+        given(taskRepository.search(eq("login"), isNull(), eq("HIGH"), isNull(), isNull(), anyInt()))
+                .willReturn(List.of(hit(7L, 0.9f)));
+        given(taskService.getTasksByIds(any())).willReturn(Map.of());
+
+        // when
+        TaskSearchResponse result = searchService.search("login", null, Priority.HIGH, null, 20);
+
+        // then
+        assertThat(result.getHits()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should reject blank queries, bad page sizes and malformed cursors")
+    void shouldRejectInvalidInput() {
+        assertThatThrownBy(() -> searchService.search(" ", null, null, null, 20))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> searchService.search("login", null, null, null, TaskSearchService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> searchService.search("login", null, null, "not-a-cursor", 20))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(taskRepository);
+    }
+
+    private static TaskRepository.SearchHit hit(Long id, float rank) {
+        return PROJECTIONS.createProjection(TaskRepository.SearchHit.class, Map.of(
+                "id", id,
+                "rank", rank,
+                "titleHighlight", "<mark>Login</mark> " + id,
+                "snippet", "snippet " + id));
+    }
+
+    private static TaskResponse task(Long id) {
+        return TaskResponse.builder().id(id).title("Login " + id).status(Status.TO_DO).priority(Priority.HIGH).build();
+    }
+}
@@ -1,31 +1,57 @@
 package com.hivetech.kanban.service;
 
+import com.hivetech.kanban.config.CacheConfig;
 import com.hivetech.kanban.dto.*;
 import com.hivetech.kanban.entity.Task;
+import com.hivetech.kanban.entity.Tsid;
 import com.hivetech.kanban.enums.Priority;
 import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.event.TaskEventOutbox;
+import com.hivetech.kanban.exception.BadRequestException;
 import com.hivetech.kanban.exception.OptimisticLockException;
+import com.hivetech.kanban.exception.ResourceAlreadyExistsException;
 import com.hivetech.kanban.exception.ResourceNotFoundException;
 import com.hivetech.kanban.mapper.TaskMapper;
+import com.hivetech.kanban.readmodel.TaskReadModel;
 import com.hivetech.kanban.repository.TaskRepository;
-import com.hivetech.kanban.websocket.TaskWebSocketService;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Instant;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -41,7 +67,22 @@ class TaskServiceTest {
     private TaskMapper taskMapper;
 
     @Mock
-    private TaskWebSocketService webSocketService;
+    private TaskEventOutbox eventOutbox;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private TaskReadModel readModel;
+
+    @Mock
+    private TaskCountEstimator countEstimator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
     @InjectMocks
     private TaskService taskService;
@@ -123,6 +164,142 @@ class TaskServiceTest {
             assertThat(result.getContent()).hasSize(1);
             verify(taskRepository).findByStatus(Status.TO_DO, pageable);
         }
+
+        @Test
+        @DisplayName("should run combined filters as one criteria query")
+        void shouldQueryCombinedFilters() {
+            // given
+            Pageable pageable = PageRequest.of(0, 10);
+            TaskFilter filter = TaskFilter.builder()
+                    .status(Set.of(Status.TO_DO, Status.IN_PROGRESS))
+                    .priority(Set.of(Priority.HIGH))
+                    .title("login")
+                    .build();
+            given(taskRepository.findAll(ArgumentMatchers.<Specification<Task>>any(), eq(pageable)))
+                    .willReturn(new PageImpl<>(List.of(task), pageable, 1));
+            given(taskMapper.toResponse(task)).willReturn(taskResponse);
+
+            // when
+            Page<TaskResponse> result = taskService.getFilteredTasks(filter, pageable);
+
+            // then
+            assertThat(result.getContent()).containsExactly(taskResponse);
+            verify(taskRepository, never()).findByStatus(any(), any());
+        }
+
+        @Test
+        @DisplayName("should serve status-only filters like the plain status listing")
+        void shouldServeStatusOnlyFilterByStatus() {
+            // given
+            Pageable pageable = PageRequest.of(0, 10);
+            given(taskRepository.findByStatus(Status.DONE, pageable)).willReturn(new PageImpl<>(List.of(task), pageable, 1));
+            given(taskMapper.toResponse(task)).willReturn(taskResponse);
+
+            // when
+            Page<TaskResponse> result = taskService.getFilteredTasks(TaskFilter.ofStatus(Status.DONE), pageable);
+
+            // then
+            assertThat(result.getContent()).containsExactly(taskResponse);
+        }
+
+        @Test
+        @DisplayName("should give equal filters the same cache key whatever the value order")
+        void shouldBuildStableFilterCacheKeys() {
+            TaskFilter first = TaskFilter.builder().status(new LinkedHashSet<>(List.of(Status.DONE, Status.TO_DO))).build();
+            TaskFilter second = TaskFilter.builder().status(new LinkedHashSet<>(List.of(Status.TO_DO, Status.DONE))).build();
+
+            assertThat(first.cacheKey()).isEqualTo(second.cacheKey());
+            assertThat(first.cacheKey()).isNotEqualTo(TaskFilter.ofStatus(Status.DONE).cacheKey());
+        }
+
+        @Test
+        @DisplayName("should page large tables with the estimated total instead of counting")
+        void shouldUseEstimatedCount() {
+            // given
+            Pageable pageable = PageRequest.of(0, 1);
+            given(countEstimator.estimateTaskCount()).willReturn(OptionalLong.of(250_000));
+            given(taskRepository.findAllAsSlice(pageable)).willReturn(new SliceImpl<>(List.of(task), pageable, true));
+            given(taskMapper.toResponse(task)).willReturn(taskResponse);
+
+            // when
+            Optional<Page<TaskResponse>> result = taskService.getAllTasksWithEstimatedCount(pageable);
+
+            // then
+            assertThat(result).hasValueSatisfying(page -> {
+                assertThat(page.getContent()).containsExactly(taskResponse);
+                assertThat(page.getTotalElements()).isEqualTo(250_000);
+            });
+            verify(taskRepository, never()).findAll(any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("should leave small tables to the exact count")
+        void shouldNotEstimateSmallTables() {
+            // given
+            given(countEstimator.estimateTaskCount()).willReturn(OptionalLong.empty());
+
+            // when
+            Optional<Page<TaskResponse>> result = taskService.getAllTasksWithEstimatedCount(PageRequest.of(0, 10));
+
+            // then
+            assertThat(result).isEmpty();
+            verifyNoInteractions(taskRepository);
+        }
+
+        @Test
+        @DisplayName("should return a slice without counting")
+        void shouldReturnSliceWithoutCount() {
+            // given
+            Pageable pageable = PageRequest.of(0, 1);
+            given(taskRepository.findSliceByStatus(Status.TO_DO, pageable))
+                    .willReturn(new SliceImpl<>(List.of(task), pageable, true));
+            given(taskMapper.toResponse(task)).willReturn(taskResponse);
+
+            // when
+            Slice<TaskResponse> result = taskService.getTaskSlice(TaskFilter.ofStatus(Status.TO_DO), pageable);
+
+            // then
+            assertThat(result.getContent()).containsExactly(taskResponse);
+            assertThat(result.hasNext()).isTrue();
+            verify(taskRepository, never()).findByStatus(any(), any());
+        }
+
+        @Test
+        @DisplayName("should slice with every filter applied")
+        void shouldSliceFilteredTasks() {
+            // given
+            Pageable pageable = PageRequest.of(0, 1);
+            TaskFilter filter = TaskFilter.builder()
+                    .status(Set.of(Status.TO_DO))
+                    .priority(Set.of(Priority.HIGH))
+                    .build();
+            given(taskRepository.findSlice(any(), eq(pageable))).willReturn(new SliceImpl<>(List.of(task), pageable, false));
+            given(taskMapper.toResponse(task)).willReturn(taskResponse);
+
+            // when
+            Slice<TaskResponse> result = taskService.getTaskSlice(filter, pageable);
+
+            // then
+            assertThat(result.getContent()).containsExactly(taskResponse);
+            assertThat(result.hasNext()).isFalse();
+            verify(taskRepository, never()).findSliceByStatus(any(), any());
+        }
+
+        @Test
+        @DisplayName("should serve tasks from the read model once it is loaded")
+        void shouldServeFromReadModel() {
+            // given
+            Pageable pageable = PageRequest.of(0, 10);
+            given(readModel.isServing()).willReturn(true);
+            given(readModel.findAll(Status.TO_DO, pageable)).willReturn(new PageImpl<>(List.of(taskResponse), pageable, 1));
+
+            // when
+            Page<TaskResponse> result = taskService.getAllTasks(Status.TO_DO, pageable);
+
+            // then
+            assertThat(result.getContent()).containsExactly(taskResponse);
+            verifyNoInteractions(taskRepository);
+        }
     }
 
     @Nested
@@ -157,6 +334,47 @@ class TaskServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("getTasksByIds")
+    class GetTasksByIdsTests {
+
+        @Test
+        @DisplayName("should serve cached tasks and load only the misses")
+        void shouldLoadOnlyCacheMisses() {
+            // given
+            Cache cache = new ConcurrentMapCache(CacheConfig.TASK_CACHE);
+            TaskResponse cachedResponse = TaskResponse.builder().id(2L).title("Cached").build();
+            cache.put(2L, cachedResponse);
+            given(cacheManager.getCache(CacheConfig.TASK_CACHE)).willReturn(cache);
+            given(taskRepository.findAllById(Set.of(1L, 99L))).willReturn(List.of(task));
+            given(taskMapper.toResponse(task)).willReturn(taskResponse);
+
+            // when
+            Map<Long, TaskResponse> result = taskService.getTasksByIds(List.of(1L, 2L, 99L));
+
+            // then
+            assertThat(result).containsOnlyKeys(1L, 2L);
+            assertThat(result.get(2L)).isSameAs(cachedResponse);
+            assertThat(cache.get(1L, TaskResponse.class)).isSameAs(taskResponse);
+        }
+
+        @Test
+        @DisplayName("should not query the database when all tasks are cached")
+        void shouldSkipQueryWhenAllCached() {
+            // given
+            Cache cache = new ConcurrentMapCache(CacheConfig.TASK_CACHE);
+            cache.put(1L, taskResponse);
+            given(cacheManager.getCache(CacheConfig.TASK_CACHE)).willReturn(cache);
+
+            // when
+            Map<Long, TaskResponse> result = taskService.getTasksByIds(List.of(1L));
+
+            // then
+            assertThat(result).containsEntry(1L, taskResponse);
+            verify(taskRepository, never()).findAllById(any());
+        }
+    }
+
     @Nested
     @DisplayName("createTask")
     class CreateTaskTests {
@@ -166,7 +384,7 @@ class TaskServiceTest {
         void shouldCreateTaskSuccessfully() {
             // given
             given(taskMapper.toEntity(taskRequest)).willReturn(task);
-            given(taskRepository.save(task)).willReturn(task);
+            given(taskRepository.saveAllAndFlush(List.of(task))).willReturn(List.of(task));
             given(taskMapper.toResponse(task)).willReturn(taskResponse);
 
             // when
@@ -175,7 +393,50 @@ class TaskServiceTest {
             // then
             assertThat(result.getId()).isEqualTo(1L);
             assertThat(result.getTitle()).isEqualTo("Test Task");
-            verify(webSocketService).notifyTaskCreated(taskResponse);
+            verify(eventOutbox).recordTaskCreated(taskResponse);
+        }
+
+        @Test
+        @DisplayName("should reject a client-assigned id that is already taken")
+        void shouldRejectExistingAssignedId() {
+            // given
+            long id = clientAssignedId();
+            taskRequest.setId(id);
+            given(taskRepository.existsById(id)).willReturn(true);
+
+            // when / then
+            assertThatThrownBy(() -> taskService.createTask(taskRequest))
+                    .isInstanceOf(ResourceAlreadyExistsException.class)
+                    .hasMessageContaining(String.valueOf(id));
+            verify(taskRepository, never()).saveAllAndFlush(any());
+        }
+
+        @Test
+        @DisplayName("should map a concurrent create under the same id to a conflict on that id")
+        void shouldMapDuplicatePrimaryKey() {
+            // given
+            long id = clientAssignedId();
+            taskRequest.setId(id);
+            given(taskMapper.toEntity(taskRequest)).willReturn(task);
+            given(taskRepository.saveAllAndFlush(List.of(task))).willThrow(integrityViolation("tasks_pkey"));
+
+            // when / then
+            assertThatThrownBy(() -> taskService.createTask(taskRequest))
+                    .isInstanceOf(ResourceAlreadyExistsException.class)
+                    .hasMessageContaining(String.valueOf(id));
+        }
+
+        @Test
+        @DisplayName("should not map other integrity violations to a conflict")
+        void shouldRethrowOtherViolations() {
+            // given
+            taskRequest.setId(clientAssignedId());
+            given(taskMapper.toEntity(taskRequest)).willReturn(task);
+            given(taskRepository.saveAllAndFlush(List.of(task))).willThrow(integrityViolation("tasks_title_check"));
+
+            // when / then
+            assertThatThrownBy(() -> taskService.createTask(taskRequest))
+                    .isInstanceOf(DataIntegrityViolationException.class);
         }
     }
 
@@ -213,7 +474,7 @@ class TaskServiceTest {
 
             // then
             assertThat(result.getTitle()).isEqualTo("Updated Task");
-            verify(webSocketService).notifyTaskUpdated(updatedResponse);
+            verify(eventOutbox).recordTaskUpdated(updatedResponse, Status.TO_DO);
         }
 
         @Test
@@ -290,7 +551,7 @@ class TaskServiceTest {
             // then
             assertThat(result.getStatus()).isEqualTo(Status.DONE);
             verify(taskMapper).patchEntity(task, patchRequest);
-            verify(webSocketService).notifyTaskUpdated(patchedResponse);
+            verify(eventOutbox).recordTaskUpdated(patchedResponse, Status.TO_DO);
         }
     }
 
@@ -302,7 +563,7 @@ class TaskServiceTest {
         @DisplayName("should delete task successfully")
         void shouldDeleteTaskSuccessfully() {
             // given
-            given(taskRepository.existsById(1L)).willReturn(true);
+            given(taskRepository.findStatusById(1L)).willReturn(Optional.of(Status.TO_DO));
             willDoNothing().given(taskRepository).deleteById(1L);
 
             // when
@@ -310,19 +571,165 @@ class TaskServiceTest {
 
             // then
             verify(taskRepository).deleteById(1L);
-            verify(webSocketService).notifyTaskDeleted(1L);
+            verify(eventOutbox).recordTaskDeleted(1L, Status.TO_DO);
         }
 
         @Test
         @DisplayName("should throw exception when deleting non-existent task")
         void shouldThrowExceptionWhenDeletingNonExistentTask() {
             // given
-            given(taskRepository.existsById(99L)).willReturn(false);
+            given(taskRepository.findStatusById(99L)).willReturn(Optional.empty());
 
             // when/then
             assertThatThrownBy(() -> taskService.deleteTask(99L))
                     .isInstanceOf(ResourceNotFoundException.class);
         }
     }
-}
 
+    @Nested
+    @DisplayName("batch operations")
+    class BatchTests {
+
+        @Test
+        @DisplayName("should create valid tasks and report invalid ones in request order")
+        void shouldCreateValidTasksOnly() {
+            // given
+            TaskRequest invalid = TaskRequest.builder().title("Task").status("BLOCKED").priority("LOW").build();
+            given(taskMapper.toEntity(taskRequest)).willReturn(task);
+            given(taskRepository.saveAllAndFlush(List.of(task))).willReturn(List.of(task));
+            given(taskMapper.toResponse(task)).willReturn(taskResponse);
+
+            // when
+            List<TaskBatchResult> results = taskService.createTasks(List.of(invalid, taskRequest));
+
+            // then
+            assertThat(results).hasSize(2);
+            assertThat(results.get(0).getError()).isEqualTo(TaskBatchResult.ErrorCode.VALIDATION_FAILED);
+            assertThat(results.get(0).getMessage()).isEqualTo("status: Status must be one of: TO_DO, IN_PROGRESS, DONE");
+            assertThat(results.get(1).getTask()).isEqualTo(taskResponse);
+            verify(eventOutbox, times(1)).recordTaskCreated(taskResponse);
+        }
+
+        @Test
+        @DisplayName("should report taken, repeated and malformed client-assigned ids per item")
+        void shouldReportAssignedIdErrors() {
+            // given
+            long taken = clientAssignedId();
+            long fresh = taken + 1;
+            TaskRequest existing = TaskRequest.builder().id(taken).title("A").status("TO_DO").priority("LOW").build();
+            TaskRequest first = TaskRequest.builder().id(fresh).title("B").status("TO_DO").priority("LOW").build();
+            TaskRequest repeated = TaskRequest.builder().id(fresh).title("C").status("TO_DO").priority("LOW").build();
+            TaskRequest serverNode = TaskRequest.builder().id(42L).title("D").status("TO_DO").priority("LOW").build();
+            TaskRepository.TaskStatusView view = new SpelAwareProxyProjectionFactory()
+                    .createProjection(TaskRepository.TaskStatusView.class, Map.of("id", taken, "status", Status.TO_DO));
+            given(taskRepository.findStatusesByIds(List.of(taken, fresh, fresh, 42L))).willReturn(List.of(view));
+            given(taskMapper.toEntity(first)).willReturn(task);
+            given(taskRepository.saveAllAndFlush(List.of(task))).willReturn(List.of(task));
+            given(taskMapper.toResponse(task)).willReturn(taskResponse);
+
+            // when
+            List<TaskBatchResult> results = taskService.createTasks(List.of(existing, first, repeated, serverNode));
+
+            // then
+            assertThat(results).extracting(TaskBatchResult::getError).containsExactly(
+                    TaskBatchResult.ErrorCode.ALREADY_EXISTS, null,
+                    TaskBatchResult.ErrorCode.VALIDATION_FAILED, TaskBatchResult.ErrorCode.VALIDATION_FAILED);
+            assertThat(results.get(2).getMessage()).isEqualTo("Task id is used more than once in the batch");
+            assertThat(results.get(3).getId()).isEqualTo(42L);
+        }
+
+        @Test
+        @DisplayName("should retry a batch whose client-assigned id was taken concurrently and report it per item")
+        void shouldReportConcurrentlyTakenIdPerItem() {
+            // given - the id is free at the first check, but a concurrent create commits it before the insert
+            long taken = clientAssignedId();
+            TaskRequest contested = TaskRequest.builder().id(taken).title("A").status("TO_DO").priority("LOW").build();
+            Task contestedTask = Task.builder().id(taken).title("A").build();
+            TaskRepository.TaskStatusView view = new SpelAwareProxyProjectionFactory()
+                    .createProjection(TaskRepository.TaskStatusView.class, Map.of("id", taken, "status", Status.TO_DO));
+            given(taskRepository.findStatusesByIds(List.of(taken))).willReturn(List.of(), List.of(view));
+            given(taskMapper.toEntity(contested)).willReturn(contestedTask);
+            given(taskMapper.toEntity(taskRequest)).willReturn(task);
+            given(taskRepository.saveAllAndFlush(List.of(contestedTask, task))).willThrow(integrityViolation("tasks_pkey"));
+            given(taskRepository.saveAllAndFlush(List.of(task))).willReturn(List.of(task));
+            given(taskMapper.toResponse(task)).willReturn(taskResponse);
+
+            // when
+            List<TaskBatchResult> results = taskService.createTasks(List.of(contested, taskRequest));
+
+            // then
+            assertThat(results).extracting(TaskBatchResult::getError)
+                    .containsExactly(TaskBatchResult.ErrorCode.ALREADY_EXISTS, null);
+            assertThat(results.get(0).getId()).isEqualTo(taken);
+            assertThat(results.get(1).getTask()).isEqualTo(taskResponse);
+            verify(eventOutbox, times(1)).recordTaskCreated(taskResponse);
+        }
+
+        @Test
+        @DisplayName("should report missing tasks and version conflicts per item")
+        void shouldReportPerItemUpdateErrors() {
+            // given
+            TaskUpdateRequest current = TaskUpdateRequest.builder()
+                    .title("Updated").status("DONE").priority("HIGH").version(0L).build();
+            TaskUpdateRequest stale = TaskUpdateRequest.builder()
+                    .title("Stale").status("DONE").priority("HIGH").version(5L).build();
+            Task other = Task.builder().id(2L).title("Other").version(1L).build();
+            given(taskRepository.findAllById(List.of(1L, 2L, 99L))).willReturn(List.of(task, other));
+            given(taskMapper.toResponse(task)).willReturn(taskResponse);
+
+            // when
+            List<TaskBatchResult> results = taskService.updateTasks(List.of(
+                    new TaskBatchUpdateRequest(1L, current),
+                    new TaskBatchUpdateRequest(2L, stale),
+                    new TaskBatchUpdateRequest(99L, current)));
+
+            // then
+            assertThat(results).extracting(TaskBatchResult::getError).containsExactly(
+                    null, TaskBatchResult.ErrorCode.VERSION_CONFLICT, TaskBatchResult.ErrorCode.NOT_FOUND);
+            verify(taskMapper).updateEntity(task, current);
+            verify(taskRepository).saveAllAndFlush(List.of(task));
+            verify(eventOutbox).recordTaskUpdated(taskResponse, Status.TO_DO);
+        }
+
+        @Test
+        @DisplayName("should delete existing tasks with one statement")
+        void shouldDeleteExistingTasks() {
+            // given
+            TaskRepository.TaskStatusView existing = mock(TaskRepository.TaskStatusView.class);
+            given(existing.getId()).willReturn(1L);
+            given(existing.getStatus()).willReturn(Status.DONE);
+            given(taskRepository.findStatusesByIds(List.of(1L, 99L))).willReturn(List.of(existing));
+
+            // when
+            List<TaskBatchResult> results = taskService.deleteTasks(List.of(1L, 99L));
+
+            // then
+            assertThat(results).extracting(TaskBatchResult::getError)
+                    .containsExactly(null, TaskBatchResult.ErrorCode.NOT_FOUND);
+            verify(taskRepository).deleteAllByIdInBatch(Set.of(1L));
+            verify(eventOutbox).recordTaskDeleted(1L, Status.DONE);
+        }
+
+        @Test
+        @DisplayName("should reject batches above the maximum size")
+        void shouldRejectOversizedBatch() {
+            // given
+            List<Long> ids = Collections.nCopies(TaskService.MAX_BATCH_SIZE + 1, 1L);
+
+            // when/then
+            assertThatThrownBy(() -> taskService.deleteTasks(ids))
+                    .isInstanceOf(BadRequestException.class);
+            verifyNoInteractions(taskRepository);
+        }
+    }
+
+    private static DataIntegrityViolationException integrityViolation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key", "23505"), constraint));
+    }
+
+    private static long clientAssignedId() {
+        long millis = System.currentTimeMillis() - Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+        return millis << 12 | (long) Tsid.CLIENT_NODE_ID << 8;
+    }
+}
@@ -0,0 +1,73 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.config.CacheConfig;
+import com.hivetech.kanban.dto.TaskStatsResponse;
+import com.hivetech.kanban.entity.TaskCounter;
+import com.hivetech.kanban.enums.Priority;
+import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.repository.TaskCounterRepository;
+import com.hivetech.kanban.websocket.TaskEvent;
+import com.hivetech.kanban.websocket.TaskEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatsServiceTest {
+
+    @Mock
+    private TaskCounterRepository counterRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @InjectMocks
+    private TaskStatsService statsService;
+
+    @Test
+    @DisplayName("should aggregate counters by status and priority, with zeros for empty combinations")
+    void shouldAggregateCounters() {
+        // given
+        given(counterRepository.findAll()).willReturn(List.of(
+                new TaskCounter(Status.TO_DO, Priority.HIGH, 3),
+                new TaskCounter(Status.TO_DO, Priority.LOW, 2),
+                new TaskCounter(Status.DONE, Priority.HIGH, 5)));
+
+        // when
+        TaskStatsResponse stats = statsService.getStats();
+
+        // then
+        assertThat(stats.getTotal()).isEqualTo(10);
+        assertThat(stats.getByStatus()).containsEntry(Status.TO_DO, 5L)
+                .containsEntry(Status.IN_PROGRESS, 0L)
+                .containsEntry(Status.DONE, 5L);
+        assertThat(stats.getByPriority()).containsEntry(Priority.HIGH, 8L)
+                .containsEntry(Priority.MEDIUM, 0L)
+                .containsEntry(Priority.LOW, 2L);
+        assertThat(stats.getByStatusAndPriority().get(Status.TO_DO)).containsEntry(Priority.HIGH, 3L);
+    }
+
+    @Test
+    @DisplayName("should drop the cached statistics on every task event")
+    void shouldEvictOnTaskEvent(@Mock Cache cache) {
+        // given
+        given(cacheManager.getCache(CacheConfig.TASK_STATS_CACHE)).willReturn(cache);
+
+        // when
+        statsService.onTaskEvent(TaskEvent.builder().type(TaskEventType.DELETED).taskId(1L).build());
+
+        // then
+        verify(cache).clear();
+    }
+}
@@ -0,0 +1,208 @@
+package com.hivetech.kanban.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hivetech.kanban.dto.TaskResponse;
+import com.hivetech.kanban.entity.TaskEventRecord;
+import com.hivetech.kanban.enums.Status;
+import com.hivetech.kanban.repository.TaskEventRecordRepository;
+import com.hivetech.kanban.websocket.TaskEvent;
+import com.hivetech.kanban.websocket.TaskEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TaskEventStreamServiceTest {
+
+    @Mock
+    private TaskEventRecordRepository eventRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private TaskEventStreamService service;
+    private SseEmitter emitter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new TaskEventStreamService(eventRepository, objectMapper, new SimpleMeterRegistry(),
+                60_000, 60_000, 2);
+        emitter = mock(SseEmitter.class);
+        willAnswer(invocation -> {
+            SseEmitter.SseEventBuilder builder = invocation.getArgument(0);
+            sent.add(builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(String::valueOf)
+                    .collect(Collectors.joining()));
+            return null;
+        }).given(emitter).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("should replay missed events ahead of live ones and skip live events the replay covered")
+    void shouldReplayBeforeLiveEvents() throws Exception {
+        // given - the replay reads the outbox only after two live events were queued
+        CountDownLatch liveQueued = new CountDownLatch(1);
+        given(eventRepository.findMaxPublishSequence()).willReturn(Optional.of(6L));
+        given(eventRepository.findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(eq(4L), any(Limit.class)))
+                .willAnswer(invocation -> {
+                    liveQueued.await(5, TimeUnit.SECONDS);
+                    return List.of(record(5L), record(6L));
+                });
+
+        // when
+        service.subscribe(emitter, null, 4L);
+        service.onTaskEvent(event(6L));
+        service.onTaskEvent(event(7L));
+        liveQueued.countDown();
+
+        // then
+        verify(emitter, timeout(5000).times(3)).send(any(SseEmitter.SseEventBuilder.class));
+        assertThat(sentIds()).containsExactly("5", "6", "7");
+    }
+
+    @Test
+    @DisplayName("should send a reset instead of replaying more than the replay limit")
+    void shouldResetWhenReplayIsTooLarge() throws Exception {
+        // given
+        int available = TaskEventStreamService.MAX_REPLAY_EVENTS + 1;
+        given(eventRepository.findMaxPublishSequence()).willReturn(Optional.of(5000L));
+        given(eventRepository.findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(eq(10L), any(Limit.class)))
+                .willReturn(LongStream.rangeClosed(11, 10 + available).mapToObj(this::record).toList());
+
+        // when
+        service.subscribe(emitter, null, 10L);
+        service.onTaskEvent(event(500L));
+        service.onTaskEvent(event(5001L));
+
+        // then
+        verify(emitter, timeout(5000).times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        assertThat(sent.get(0)).contains("event:" + TaskEventStreamService.RESET_EVENT).contains("id:" + (10 + available));
+        assertThat(sentIds()).containsExactly(String.valueOf(10 + available), "5001");
+    }
+
+    @Test
+    @DisplayName("should send a reset for an id beyond the latest published event")
+    void shouldResetOnUnknownId() throws Exception {
+        // given
+        given(eventRepository.findMaxPublishSequence()).willReturn(Optional.of(20L));
+
+        // when
+        service.subscribe(emitter, null, 99L);
+
+        // then
+        verify(emitter, timeout(5000)).send(any(SseEmitter.SseEventBuilder.class));
+        assertThat(sent.get(0)).contains("event:" + TaskEventStreamService.RESET_EVENT).contains("id:20");
+    }
+
+    @Test
+    @DisplayName("should write the live events of a subscriber in publication order")
+    void shouldKeepLiveEventsInOrder() throws Exception {
+        // given
+        service.subscribe(emitter, null, null);
+
+        // when
+        for (long sequence = 1; sequence <= 500; sequence++) {
+            service.onTaskEvent(event(sequence));
+        }
+
+        // then
+        verify(emitter, timeout(5000).times(500)).send(any(SseEmitter.SseEventBuilder.class));
+        assertThat(sentIds()).containsExactlyElementsOf(
+                LongStream.rangeClosed(1, 500).mapToObj(String::valueOf).toList());
+    }
+
+    @Test
+    @DisplayName("should send a filtered stream the update of a task leaving its status")
+    void shouldSendTasksLeavingFilteredStatus() throws Exception {
+        // given
+        service.subscribe(emitter, Set.of(Status.IN_PROGRESS), null);
+
+        // when
+        service.onTaskEvent(updated(1L, Status.DONE, Status.IN_PROGRESS));
+        service.onTaskEvent(updated(2L, Status.DONE, Status.TO_DO));
+        service.onTaskEvent(updated(3L, Status.IN_PROGRESS, Status.TO_DO));
+
+        // then
+        verify(emitter, timeout(5000).times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        assertThat(sentIds()).containsExactly("1", "3");
+    }
+
+    private List<String> sentIds() {
+        List<String> ids = new ArrayList<>();
+        for (String sseEvent : sent) {
+            sseEvent.lines()
+                    .filter(line -> line.startsWith("id:"))
+                    .forEach(line -> ids.add(line.substring(3)));
+        }
+        return ids;
+    }
+
+    private TaskEvent event(long sequence) {
+        return TaskEvent.builder()
+                .eventId(1000 - sequence)
+                .sequence(sequence)
+                .type(TaskEventType.DELETED)
+                .taskId(sequence)
+                .build();
+    }
+
+    private TaskEvent updated(long sequence, Status status, Status previousStatus) {
+        return TaskEvent.builder()
+                .eventId(1000 - sequence)
+                .sequence(sequence)
+                .type(TaskEventType.UPDATED)
+                .taskId(sequence)
+                .task(TaskResponse.builder().id(sequence).status(status).build())
+                .previousStatus(previousStatus)
+                .build();
+    }
+
+    private TaskEventRecord record(long sequence) {
+        try {
+            TaskEvent event = event(sequence);
+            return TaskEventRecord.builder()
+                    .id(event.getEventId())
+                    .taskId(event.getTaskId())
+                    .eventType(event.getType())
+                    .publishSequence(sequence)
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.hivetech.kanban.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hivetech.kanban.mapper.TaskMapper;
+import com.hivetech.kanban.repository.TaskEventRecordRepository;
+import com.hivetech.kanban.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresTaskEventRelayTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private Savepoint savepoint;
+
+    @Mock
+    private TaskEventRecordRepository eventRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    private PostgresTaskEventRelay relay;
+    private TaskEvent event;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        relay = new PostgresTaskEventRelay(new JdbcTemplate(dataSource), new DataSourceProperties(), new ObjectMapper(),
+                eventRepository, taskRepository, taskMapper, "kanban_task_events");
+        event = TaskEvent.builder()
+                .eventId(1L)
+                .type(TaskEventType.DELETED)
+                .taskId(42L)
+                .build();
+        given(dataSource.getConnection()).willReturn(connection);
+        given(connection.prepareStatement(anyString())).willReturn(statement);
+    }
+
+    @Test
+    @DisplayName("should notify inside a savepoint of the caller's transaction")
+    void shouldNotifyInSavepoint() throws SQLException {
+        // given
+        given(connection.getAutoCommit()).willReturn(false);
+        given(connection.setSavepoint()).willReturn(savepoint);
+
+        // when
+        relay.publish(event);
+
+        // then
+        verify(statement).setString(1, "kanban_task_events");
+        verify(statement).execute();
+        verify(connection).releaseSavepoint(savepoint);
+        verify(connection, never()).rollback(savepoint);
+    }
+
+    @Test
+    @DisplayName("should roll a failed notify back to its savepoint so the transaction stays usable")
+    void shouldRollBackFailedNotify() throws SQLException {
+        // given
+        given(connection.getAutoCommit()).willReturn(false);
+        given(connection.setSavepoint()).willReturn(savepoint);
+        given(statement.execute()).willThrow(new SQLException("payload string too long", "22023"));
+
+        // when
+        relay.publish(event);
+
+        // then
+        verify(connection).rollback(savepoint);
+        verify(connection, never()).releaseSavepoint(savepoint);
+    }
+
+    @Test
+    @DisplayName("should not set a savepoint outside a transaction")
+    void shouldNotifyWithoutTransaction() throws SQLException {
+        // given
+        given(connection.getAutoCommit()).willReturn(true);
+
+        // when
+        relay.publish(event);
+
+        // then
+        verify(statement).execute();
+        verify(connection, never()).setSavepoint();
+    }
+}
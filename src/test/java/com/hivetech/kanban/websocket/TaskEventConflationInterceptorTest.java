@@ -0,0 +1,107 @@
+package com.hivetech.kanban.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TaskEventConflationInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskEventConflationInterceptor interceptor;
+    private MessageChannel channel;
+    private MessageHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new TaskEventConflationInterceptor(meterRegistry);
+        channel = mock(MessageChannel.class);
+        handler = mock(MessageHandler.class);
+    }
+
+    @Test
+    @DisplayName("should skip older event when a newer one for the same task is queued")
+    void shouldSkipSupersededEvent() {
+        // given
+        Message<?> first = taskMessage("session-1", "1");
+        Message<?> second = taskMessage("session-1", "1");
+        interceptor.preSend(first, channel);
+        interceptor.preSend(second, channel);
+
+        // when
+        Message<?> handledFirst = interceptor.beforeHandle(first, channel, handler);
+        Message<?> handledSecond = interceptor.beforeHandle(second, channel, handler);
+
+        // then
+        assertThat(handledFirst).isNull();
+        assertThat(handledSecond).isSameAs(second);
+        assertThat(meterRegistry.counter("websocket.outbound.conflated").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should still deliver the queued event when a newer one is dropped by the executor")
+    void shouldDeliverQueuedEventWhenNewerOneIsDropped() {
+        // given
+        Message<?> queued = taskMessage("session-1", "1");
+        Message<?> dropped = taskMessage("session-1", "1");
+        interceptor.preSend(queued, channel);
+        interceptor.preSend(dropped, channel);
+
+        // when
+        interceptor.discard(dropped);
+
+        // then
+        assertThat(interceptor.beforeHandle(queued, channel, handler)).isSameAs(queued);
+        assertThat(meterRegistry.get("websocket.outbound.conflation.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("should deliver events for different sessions and tasks independently")
+    void shouldNotConflateAcrossSessionsOrTasks() {
+        // given
+        Message<?> sessionOneTaskOne = taskMessage("session-1", "1");
+        Message<?> sessionTwoTaskOne = taskMessage("session-2", "1");
+        Message<?> sessionOneTaskTwo = taskMessage("session-1", "2");
+        interceptor.preSend(sessionOneTaskOne, channel);
+        interceptor.preSend(sessionTwoTaskOne, channel);
+        interceptor.preSend(sessionOneTaskTwo, channel);
+
+        // when / then
+        assertThat(interceptor.beforeHandle(sessionOneTaskOne, channel, handler)).isNotNull();
+        assertThat(interceptor.beforeHandle(sessionTwoTaskOne, channel, handler)).isNotNull();
+        assertThat(interceptor.beforeHandle(sessionOneTaskTwo, channel, handler)).isNotNull();
+        assertThat(meterRegistry.counter("websocket.outbound.conflated").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("should pass through frames without a task id")
+    void shouldPassThroughFramesWithoutTaskId() {
+        // given
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        accessor.setSessionId("session-1");
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        // when
+        interceptor.preSend(message, channel);
+
+        // then
+        assertThat(interceptor.beforeHandle(message, channel, handler)).isSameAs(message);
+    }
+
+    private Message<?> taskMessage(String sessionId, String taskId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setNativeHeader(TaskEventConflationInterceptor.TASK_ID_HEADER, taskId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,113 @@
+package com.hivetech.kanban.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TaskEventFormatInterceptorTest {
+
+    private TaskEventFormatInterceptor interceptor;
+    private MessageChannel channel;
+    private Map<String, Object> sessionAttributes;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new TaskEventFormatInterceptor();
+        channel = mock(MessageChannel.class);
+        sessionAttributes = new HashMap<>();
+    }
+
+    @Test
+    @DisplayName("should move binary subscriptions to the format's destination")
+    void shouldRewriteBinarySubscription() {
+        // given
+        interceptor.beforeHandshake(null, null, null, sessionAttributes);
+
+        // when
+        Message<?> result = interceptor.preSend(subscribe("sub-1", "application/cbor"), channel);
+
+        // then
+        assertThat(StompHeaderAccessor.wrap(result).getDestination()).isEqualTo("/topic/tasks.cbor");
+        assertThat(interceptor.hasSubscribers(TaskEventFormat.CBOR)).isTrue();
+        assertThat(interceptor.hasSubscribers(TaskEventFormat.JSON)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should use the format requested on CONNECT as the session default")
+    void shouldApplySessionDefaultFormat() {
+        // given
+        interceptor.beforeHandshake(null, null, null, sessionAttributes);
+        StompHeaderAccessor connect = accessor(StompCommand.CONNECT);
+        connect.setNativeHeader(TaskEventFormatInterceptor.ACCEPT_FORMAT_HEADER, "application/x-jackson-smile");
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()), channel);
+
+        // when
+        Message<?> result = interceptor.preSend(subscribe("sub-1", null), channel);
+
+        // then
+        assertThat(StompHeaderAccessor.wrap(result).getDestination()).isEqualTo("/topic/tasks.smile");
+    }
+
+    @Test
+    @DisplayName("should fall back to JSON for sessions that cannot receive binary frames")
+    void shouldFallBackToJsonForSockJs() {
+        // when - no handshake mark, as for a SockJS session
+        Message<?> result = interceptor.preSend(subscribe("sub-1", "application/cbor"), channel);
+
+        // then
+        assertThat(StompHeaderAccessor.wrap(result).getDestination()).isEqualTo("/topic/tasks");
+        assertThat(interceptor.hasSubscribers(TaskEventFormat.CBOR)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should forget subscriptions on unsubscribe and disconnect")
+    void shouldRemoveSubscriptions() {
+        // given
+        interceptor.beforeHandshake(null, null, null, sessionAttributes);
+        interceptor.preSend(subscribe("sub-1", "application/cbor"), channel);
+        interceptor.preSend(subscribe("sub-2", "application/cbor"), channel);
+
+        // when
+        StompHeaderAccessor unsubscribe = accessor(StompCommand.UNSUBSCRIBE);
+        unsubscribe.setSubscriptionId("sub-1");
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], unsubscribe.getMessageHeaders()), channel);
+
+        // then
+        assertThat(interceptor.hasSubscribers(TaskEventFormat.CBOR)).isTrue();
+
+        // when
+        StompHeaderAccessor disconnect = accessor(StompCommand.DISCONNECT);
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], disconnect.getMessageHeaders()), channel);
+
+        // then
+        assertThat(interceptor.hasSubscribers(TaskEventFormat.CBOR)).isFalse();
+    }
+
+    private Message<?> subscribe(String subscriptionId, String format) {
+        StompHeaderAccessor accessor = accessor(StompCommand.SUBSCRIBE);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination("/topic/tasks");
+        if (format != null) {
+            accessor.setNativeHeader(TaskEventFormatInterceptor.ACCEPT_FORMAT_HEADER, format);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private StompHeaderAccessor accessor(StompCommand command) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId("session-1");
+        accessor.setSessionAttributes(sessionAttributes);
+        return accessor;
+    }
+}